@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# Compares cold start of the default jar with the fast-startup build (AOT + CDS + schema validation).
+# Reports time from JVM launch until /actuator/health answers UP, and the RSS of the process at that point.
+#
+# Needs a reachable database with the schema already in place (fast-startup only validates it):
+#   DB_URL=... DB_USERNAME=... DB_PASSWORD=... JWT_SECRET=... scripts/measure-startup.sh
+# RUNS (default 5) and PORT (default 18080) can be overridden; results also go to target/startup/results.csv.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+: "${DB_URL:?DB_URL is required}" "${JWT_SECRET:?JWT_SECRET is required}"
+RUNS="${RUNS:-5}"
+PORT="${PORT:-18080}"
+OUT=target/startup
+JAR_NAME=tukuntech-backend-0.0.1-SNAPSHOT.jar
+
+./mvnw -q -B -DskipTests clean package
+mkdir -p "$OUT"
+cp "target/$JAR_NAME" "$OUT/default.jar"
+
+./mvnw -q -B -Pfast-startup -DskipTests package
+FAST_DIR=target/fast-startup
+
+measure() {
+  local label=$1; shift
+  local start pid ready rss_kb
+  start=$(date +%s%N)
+  SERVER_PORT=$PORT APP_SEED_ENABLED=false "$@" >"$OUT/$label.log" 2>&1 &
+  pid=$!
+  until curl -fs "http://localhost:$PORT/api/v1/actuator/health" | grep -q '"UP"'; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "$label exited before becoming ready, see $OUT/$label.log" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  ready=$(( ($(date +%s%N) - start) / 1000000 ))
+  rss_kb=$(ps -o rss= -p "$pid" | tr -d ' ')
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$label,$ready,$((rss_kb / 1024))"
+}
+
+echo "variant,ready_ms,rss_mb" > "$OUT/results.csv"
+for i in $(seq "$RUNS"); do
+  measure default java -jar "$OUT/default.jar" >> "$OUT/results.csv"
+  measure fast-startup java -XX:SharedArchiveFile="$FAST_DIR/application.jsa" -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=fast-startup -jar "$FAST_DIR/$JAR_NAME" >> "$OUT/results.csv"
+done
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+for variant in default fast-startup; do
+  ready=$(grep "^$variant," "$OUT/results.csv" | cut -d, -f2 | median)
+  rss=$(grep "^$variant," "$OUT/results.csv" | cut -d, -f3 | median)
+  printf '%-13s ready %6d ms  rss %5d MB  (median of %d runs)\n' "$variant" "$ready" "$rss" "$RUNS"
+done
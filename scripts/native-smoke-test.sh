@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# Builds the native executable, starts it, logs in as the seeded admin and calls /test/me, then repeats
+# the same run on the JVM jar and prints time-to-ready and RSS for both.
+#
+# Uses DB_URL/DB_USERNAME/DB_PASSWORD when set, otherwise starts a throwaway MySQL container.
+# Needs GraalVM (JAVA_HOME pointing at a GraalVM JDK 21), curl and, without DB_URL, docker.
+# Set SKIP_BUILD=1 to reuse target/tukuntech-backend and the jar from a previous run.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+PORT="${PORT:-18081}"
+OUT=target/native-smoke
+BASE="http://localhost:$PORT/api/v1"
+CONTAINER=tukuntech-native-smoke-db
+mkdir -p "$OUT"
+
+cleanup() {
+  [[ -n "${APP_PID:-}" ]] && kill "$APP_PID" 2>/dev/null || true
+  [[ -n "${STARTED_DB:-}" ]] && docker rm -f "$CONTAINER" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+if [[ -z "${DB_URL:-}" ]]; then
+  docker run -d --rm --name "$CONTAINER" -e MYSQL_ROOT_PASSWORD=smoke -e MYSQL_DATABASE=tukuntech \
+    -p 13306:3306 mysql:8.4 >/dev/null
+  STARTED_DB=1
+  until docker exec "$CONTAINER" mysqladmin ping -psmoke --silent 2>/dev/null; do sleep 1; done
+  export DB_URL="jdbc:mysql://localhost:13306/tukuntech?allowPublicKeyRetrieval=true&useSSL=false&rewriteBatchedStatements=true"
+  export DB_USERNAME=root DB_PASSWORD=smoke
+fi
+export JWT_SECRET="${JWT_SECRET:-c21va2UtdGVzdC1zbW9rZS10ZXN0LXNtb2tlLXRlc3QtMDEyMzQ1Njc4OQ==}"
+export SERVER_PORT=$PORT SPRING_PROFILES_ACTIVE=dev APP_SEED_ENABLED=true
+
+# AOT fixes profiles and bean conditions at build time, so the smoke binary is built with the dev seed.
+if [[ -z "${SKIP_BUILD:-}" ]]; then
+  ./mvnw -q -B -Pnative -DskipTests clean package native:compile \
+    -Dspring-boot.aot.jvmArguments="-Dspring.profiles.active=dev -Dapp.seed.enabled=true"
+fi
+
+run() {
+  local label=$1; shift
+  local start ready rss_kb token me
+  start=$(date +%s%N)
+  "$@" >"$OUT/$label.log" 2>&1 &
+  APP_PID=$!
+  until curl -fs "$BASE/actuator/health" | grep -q '"UP"'; do
+    kill -0 "$APP_PID" 2>/dev/null || { echo "$label exited early, see $OUT/$label.log" >&2; exit 1; }
+    sleep 0.02
+  done
+  ready=$(( ($(date +%s%N) - start) / 1000000 ))
+
+  token=$(curl -fs -X POST "$BASE/auth/login" -H 'Content-Type: application/json' \
+    -d '{"email":"admin@tukuntech.com","password":"Admin123"}' | sed -n 's/.*"accessToken":"\([^"]*\)".*/\1/p')
+  [[ -n "$token" ]] || { echo "$label: login failed" >&2; exit 1; }
+  me=$(curl -fs "$BASE/test/me" -H "Authorization: Bearer $token")
+  grep -q 'admin@tukuntech.com' <<<"$me" || { echo "$label: /test/me returned: $me" >&2; exit 1; }
+
+  rss_kb=$(ps -o rss= -p "$APP_PID" | tr -d ' ')
+  kill "$APP_PID"; wait "$APP_PID" 2>/dev/null || true
+  APP_PID=
+  printf '%-7s ready %6d ms  rss after login %5d MB  login + /test/me OK\n' "$label" "$ready" "$((rss_kb / 1024))"
+}
+
+run native target/tukuntech-backend
+run jvm java -jar target/tukuntech-backend-0.0.1-SNAPSHOT.jar
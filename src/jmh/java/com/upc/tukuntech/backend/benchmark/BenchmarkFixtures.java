@@ -0,0 +1,107 @@
+package com.upc.tukuntech.backend.benchmark;
+
+import com.upc.tukuntech.backend.config.JwtProperties;
+import com.upc.tukuntech.backend.modules.auth.entity.PermissionEntity;
+import com.upc.tukuntech.backend.modules.auth.entity.RoleEntity;
+import com.upc.tukuntech.backend.modules.auth.repository.RoleRepository;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
+import com.upc.tukuntech.backend.modules.auth.service.AuthUserDetails;
+import com.upc.tukuntech.backend.modules.auth.service.RoleAuthorityIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiFunction;
+
+final class BenchmarkFixtures {
+    static final Long USER_ID = 42L;
+    static final String EMAIL = "patient@tukuntech.pe";
+    static final String PASSWORD_HASH = "$2a$10$abcdefghijklmnopqrstuuJ5u8Fq6nqQ0vRk9s1mXzKq0h1Yb3y2e";
+    static final List<Integer> ROLE_IDS = List.of(1, 2);
+
+    private BenchmarkFixtures() {}
+
+    static JwtProperties jwtProperties(long verifiedTokenCacheSize) {
+        JwtProperties props = new JwtProperties();
+        props.setSecret(Base64.getEncoder().encodeToString("benchmark-secret-benchmark-secret-0123456789".getBytes()));
+        props.setVerifiedTokenCacheSize(verifiedTokenCacheSize);
+        return props;
+    }
+
+    static RoleAuthorityIndex roleAuthorityIndex() {
+        List<RoleEntity> roles = List.of(
+                role(1, "PATIENT", List.of("VITALS_READ", "ALERTS_READ", "PROFILE_EDIT")),
+                role(2, "CAREGIVER", List.of("VITALS_READ", "PATIENTS_READ")));
+        RoleRepository repository = stub(RoleRepository.class, (name, args) ->
+                name.equals("findAllWithPermissions") ? roles : null);
+        RoleAuthorityIndex index = new RoleAuthorityIndex(repository, new NoTransactionManager(), new SimpleMeterRegistry());
+        index.reload();
+        return index;
+    }
+
+    static AuthUserDetails userDetails(RoleAuthorityIndex index) {
+        return AuthUserDetails.of(USER_ID, EMAIL, PASSWORD_HASH, true, 0L, ROLE_IDS, index);
+    }
+
+    // One projection row per role, as UserRepository.findAuthRowsByEmail returns them.
+    static List<UserRepository.UserAuthRow> userAuthRows() {
+        return ROLE_IDS.stream().<UserRepository.UserAuthRow>map(roleId -> new UserRepository.UserAuthRow() {
+            public Long getId() { return USER_ID; }
+            public String getEmail() { return EMAIL; }
+            public String getPassword() { return PASSWORD_HASH; }
+            public Boolean getEnabled() { return true; }
+            public Long getAuthVersion() { return 0L; }
+            public Integer getRoleId() { return roleId; }
+        }).toList();
+    }
+
+    // In-memory stand-in for a Spring Data repository so benchmarks never reach a database.
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, BiFunction<String, Object[], Object> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "Stub" + type.getSimpleName();
+                    default -> {
+                        Object answer = answers.apply(method.getName(), args);
+                        if (answer == null) throw new UnsupportedOperationException(method.getName());
+                        yield answer;
+                    }
+                });
+    }
+
+    private static RoleEntity role(int id, String name, List<String> permissions) {
+        RoleEntity role = new RoleEntity();
+        role.setId(id);
+        role.setName(name);
+        long permissionId = id * 10L;
+        for (String p : permissions) {
+            PermissionEntity permission = new PermissionEntity();
+            permission.setId(permissionId++);
+            permission.setName(p);
+            role.getPermissions().add(permission);
+        }
+        return role;
+    }
+
+    private static final class NoTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.upc.tukuntech.backend.benchmark;
+
+import com.upc.tukuntech.backend.modules.auth.util.CryptoUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CryptoUtilsBenchmark {
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        refreshToken = CryptoUtils.randomToken(64);
+    }
+
+    @Benchmark
+    public String randomToken() {
+        return CryptoUtils.randomToken(64);
+    }
+
+    @Benchmark
+    public String sha256Hex() {
+        return CryptoUtils.sha256Hex(refreshToken);
+    }
+
+    @Benchmark
+    public byte[] sha256() {
+        return CryptoUtils.sha256(refreshToken);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String randomTokenContended() {
+        return CryptoUtils.randomToken(64);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String sha256HexContended() {
+        return CryptoUtils.sha256Hex(refreshToken);
+    }
+}
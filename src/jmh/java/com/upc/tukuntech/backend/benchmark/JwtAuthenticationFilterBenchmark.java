@@ -0,0 +1,81 @@
+package com.upc.tukuntech.backend.benchmark;
+
+import com.upc.tukuntech.backend.config.SessionRevocationProperties;
+import com.upc.tukuntech.backend.config.UserCacheProperties;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
+import com.upc.tukuntech.backend.modules.auth.service.AuthUserDetails;
+import com.upc.tukuntech.backend.modules.auth.service.AuthVersionRegistry;
+import com.upc.tukuntech.backend.modules.auth.service.JwtService;
+import com.upc.tukuntech.backend.modules.auth.service.RoleAuthorityIndex;
+import com.upc.tukuntech.backend.modules.auth.service.SessionRevocationIndex;
+import com.upc.tukuntech.backend.shared.security.AuthMetrics;
+import com.upc.tukuntech.backend.shared.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+    // Stateless uses the authorities carried in the token; otherwise every request reloads the user.
+    @Param({"true", "false"})
+    public boolean statelessAuthentication;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        var jwtProperties = BenchmarkFixtures.jwtProperties(10_000);
+        jwtProperties.setStatelessAuthentication(statelessAuthentication);
+        JwtService jwtService = new JwtService(jwtProperties);
+
+        RoleAuthorityIndex roleAuthorityIndex = BenchmarkFixtures.roleAuthorityIndex();
+        AuthUserDetails user = BenchmarkFixtures.userDetails(roleAuthorityIndex);
+        UserDetailsService userDetailsService = username -> user;
+        SessionRevocationIndex revocationIndex = new SessionRevocationIndex(
+                null, jwtProperties, new SessionRevocationProperties(), new SimpleMeterRegistry());
+
+        AuthVersionRegistry authVersionRegistry = new AuthVersionRegistry(BenchmarkFixtures.stub(UserRepository.class,
+                (name, args) -> name.equals("findAuthVersionByEmail") ? Optional.of(user.getAuthVersion()) : null),
+                new UserCacheProperties());
+
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, authVersionRegistry, revocationIndex, roleAuthorityIndex,
+                new AuthMetrics(new SimpleMeterRegistry()));
+        authorization = "Bearer " + jwtService.generateAccessToken(user, UUID.randomUUID());
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws ServletException, IOException {
+        // The filter skips authentication when the context is already populated.
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/patients/me");
+        request.setContextPath("/api/v1");
+        request.addHeader("Authorization", authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Object anonymousRequest() throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/patients/me");
+        request.setContextPath("/api/v1");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,75 @@
+package com.upc.tukuntech.backend.benchmark;
+
+import com.upc.tukuntech.backend.config.JwtProperties;
+import com.upc.tukuntech.backend.modules.auth.service.AuthUserDetails;
+import com.upc.tukuntech.backend.modules.auth.service.JwtService;
+import com.upc.tukuntech.backend.modules.auth.util.AuthorityBits;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Template-based minting in JwtService against the Jwts.builder() path it replaced.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtMintingBenchmark {
+    private JwtService jwtService;
+    private JwtProperties props;
+    private Key signingKey;
+    private AuthUserDetails user;
+    private UUID sessionId;
+
+    @Setup
+    public void setUp() {
+        props = BenchmarkFixtures.jwtProperties(0);
+        jwtService = new JwtService(props);
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(props.getSecret()));
+        user = BenchmarkFixtures.userDetails(BenchmarkFixtures.roleAuthorityIndex());
+        sessionId = UUID.randomUUID();
+    }
+
+    @Benchmark
+    public String template() {
+        return jwtService.generateAccessToken(user, sessionId);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String templateContended() {
+        return jwtService.generateAccessToken(user, sessionId);
+    }
+
+    @Benchmark
+    public String jjwtBuilder() {
+        Instant now = Instant.now();
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("uid", user.getId());
+        claims.put("email", user.getUsername());
+        claims.put("roles", List.copyOf(user.getRoles()));
+        claims.put(JwtService.ROLE_BITS_CLAIM, AuthorityBits.ofRoles(user.getRoleIds()).encode());
+        claims.put(JwtService.AUTH_VERSION_CLAIM, user.getAuthVersion());
+        claims.put(JwtService.SESSION_ID_CLAIM, sessionId.toString());
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject(user.getUsername())
+                .setIssuer(props.getIssuer())
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(props.getAccessTokenExpiration())))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,70 @@
+package com.upc.tukuntech.backend.benchmark;
+
+import com.upc.tukuntech.backend.config.JwtProperties;
+import com.upc.tukuntech.backend.modules.auth.service.AuthUserDetails;
+import com.upc.tukuntech.backend.modules.auth.service.JwtService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+    @Param({"JWT", "COMPACT"})
+    public JwtProperties.TokenFormat tokenFormat;
+
+    private JwtService cached;
+    private JwtService uncached;
+    private AuthUserDetails user;
+    private UUID sessionId;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtService(properties(10_000));
+        // A zero-sized cache forces every call through signature verification and claim parsing.
+        uncached = new JwtService(properties(0));
+        user = BenchmarkFixtures.userDetails(BenchmarkFixtures.roleAuthorityIndex());
+        sessionId = UUID.randomUUID();
+        token = cached.generateAccessToken(user, sessionId);
+        cached.verify(token);
+        // Header size per request; JMH prints this with the run output.
+        System.out.printf("%s Authorization header: %d bytes%n", tokenFormat, ("Bearer " + token).length());
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return cached.generateAccessToken(user, sessionId);
+    }
+
+    @Benchmark
+    public String getEmailFromTokenCached() {
+        return cached.getEmailFromToken(token);
+    }
+
+    @Benchmark
+    public String getEmailFromTokenUncached() {
+        return uncached.getEmailFromToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cached.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncached.validateToken(token);
+    }
+
+    private JwtProperties properties(long verifiedTokenCacheSize) {
+        JwtProperties props = BenchmarkFixtures.jwtProperties(verifiedTokenCacheSize);
+        props.setTokenFormat(tokenFormat);
+        return props;
+    }
+}
@@ -0,0 +1,58 @@
+package com.upc.tukuntech.backend.benchmark;
+
+import com.upc.tukuntech.backend.config.UserCacheProperties;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
+import com.upc.tukuntech.backend.modules.auth.service.AuthUserDetails;
+import com.upc.tukuntech.backend.modules.auth.service.AuthVersionRegistry;
+import com.upc.tukuntech.backend.modules.auth.service.CustomUserDetailsService;
+import com.upc.tukuntech.backend.modules.auth.service.RoleAuthorityIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDetailsBenchmark {
+    private RoleAuthorityIndex index;
+    private CustomUserDetailsService cached;
+    private CustomUserDetailsService uncached;
+
+    @Setup
+    public void setUp() {
+        index = BenchmarkFixtures.roleAuthorityIndex();
+        cached = service(10_000);
+        uncached = service(0);
+        cached.loadUserByUsername(BenchmarkFixtures.EMAIL);
+    }
+
+    @Benchmark
+    public AuthUserDetails buildAuthorities() {
+        return BenchmarkFixtures.userDetails(index);
+    }
+
+    @Benchmark
+    public AuthUserDetails loadUserByUsernameCached() {
+        return cached.loadUserByUsername(BenchmarkFixtures.EMAIL);
+    }
+
+    @Benchmark
+    public AuthUserDetails loadUserByUsernameUncached() {
+        return uncached.loadUserByUsername(BenchmarkFixtures.EMAIL);
+    }
+
+    private CustomUserDetailsService service(long cacheSize) {
+        List<UserRepository.UserAuthRow> rows = BenchmarkFixtures.userAuthRows();
+        UserRepository repository = BenchmarkFixtures.stub(UserRepository.class, (name, args) ->
+                name.equals("findAuthRowsByEmail") ? (BenchmarkFixtures.EMAIL.equals(args[0]) ? rows : List.of()) : null);
+        UserCacheProperties props = new UserCacheProperties();
+        props.setMaximumSize(cacheSize);
+        return new CustomUserDetailsService(repository, index, new AuthVersionRegistry(repository, props), props,
+                new SimpleMeterRegistry());
+    }
+}
@@ -1,5 +1,7 @@
 package com.upc.tukuntech.backend.config;
 
+import com.upc.tukuntech.backend.shared.security.AuthMetrics;
+import com.upc.tukuntech.backend.shared.security.InstrumentedAuthenticationProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -11,17 +13,18 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class AuthProviderConfig {
     private final UserDetailsService customUserDetailsService;
     private final PasswordEncoder passwordEncoder;
+    private final AuthMetrics authMetrics;
 
-    public AuthProviderConfig(UserDetailsService customUserDetailsService, PasswordEncoder passwordEncoder) {
+    public AuthProviderConfig(UserDetailsService customUserDetailsService, PasswordEncoder passwordEncoder, AuthMetrics authMetrics) {
         this.customUserDetailsService = customUserDetailsService;
         this.passwordEncoder = passwordEncoder;
+        this.authMetrics = authMetrics;
     }
 
     @Bean
     public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider dao = new DaoAuthenticationProvider();
-        dao.setUserDetailsService(customUserDetailsService);
+        DaoAuthenticationProvider dao = new InstrumentedAuthenticationProvider(customUserDetailsService, authMetrics);
         dao.setPasswordEncoder(passwordEncoder);
         return dao;
     }
-}
\ No newline at end of file
+}
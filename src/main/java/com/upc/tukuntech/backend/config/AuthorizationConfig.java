@@ -0,0 +1,30 @@
+package com.upc.tukuntech.backend.config;
+
+import com.upc.tukuntech.backend.shared.security.BitsetAuthorizationManagers;
+import com.upc.tukuntech.backend.shared.security.RequireRole;
+import com.upc.tukuntech.backend.shared.security.RequireRoleAuthorizationManager;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.Pointcuts;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+
+@Configuration
+public class AuthorizationConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor requireRoleAuthorizationAdvisor(ObjectProvider<BitsetAuthorizationManagers> managers) {
+        return new AuthorizationManagerBeforeMethodInterceptor(
+                Pointcuts.union(
+                        new AnnotationMatchingPointcut(null, RequireRole.class, true),
+                        new AnnotationMatchingPointcut(RequireRole.class, true)
+                ),
+                new RequireRoleAuthorizationManager(managers)
+        );
+    }
+}
@@ -0,0 +1,39 @@
+package com.upc.tukuntech.backend.config;
+
+import com.upc.tukuntech.backend.shared.persistence.ConcurrencyLimitedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Wraps the pool so connection borrowers are admitted through ConcurrencyLimitedDataSource.
+// Spring Boot unwraps DelegatingDataSource, so Hikari pool metrics and health keep working.
+@Configuration
+@ConditionalOnProperty(value = "app.datasource.concurrency-limit.enabled", havingValue = "true")
+public class DatabaseConcurrencyConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(
+            ObjectProvider<DatabaseConcurrencyProperties> props, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                DatabaseConcurrencyProperties p = props.getObject();
+                int limit = p.getMaxConcurrent();
+                if (limit <= 0 && dataSource instanceof HikariDataSource hikari) {
+                    limit = hikari.getMaximumPoolSize();
+                }
+                if (limit <= 0) return bean;
+                return new ConcurrencyLimitedDataSource(dataSource, limit, p.getAcquireTimeout(), meterRegistry.getObject());
+            }
+        };
+    }
+}
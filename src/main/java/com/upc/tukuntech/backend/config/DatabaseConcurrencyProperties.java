@@ -0,0 +1,20 @@
+package com.upc.tukuntech.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.datasource.concurrency-limit")
+@Getter @Setter
+public class DatabaseConcurrencyProperties {
+    private boolean enabled = false;
+
+    // 0 = the Hikari maximum pool size.
+    private int maxConcurrent = 0;
+
+    private Duration acquireTimeout = Duration.ofSeconds(30);
+}
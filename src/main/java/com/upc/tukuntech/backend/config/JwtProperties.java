@@ -24,4 +24,15 @@ public class JwtProperties {
     private Duration refreshTokenExpiration  = Duration.ofDays(14);
 
     private int maximumSessions = 5;
+
+    private boolean statelessAuthentication = true;
+
+    private long verifiedTokenCacheSize = 10_000;
+
+    // Format of newly minted access tokens; both formats are always accepted.
+    private TokenFormat tokenFormat = TokenFormat.JWT;
+
+    private int maxCompactTokenLength = 512;
+
+    public enum TokenFormat { JWT, COMPACT }
 }
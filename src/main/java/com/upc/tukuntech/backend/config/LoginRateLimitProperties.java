@@ -0,0 +1,27 @@
+package com.upc.tukuntech.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.security.login-rate-limit")
+@Getter @Setter
+public class LoginRateLimitProperties {
+    private boolean enabled = true;
+
+    private int ipCapacity = 20;
+
+    private Duration ipRefillInterval = Duration.ofSeconds(3);
+
+    private int emailCapacity = 5;
+
+    private Duration emailRefillInterval = Duration.ofSeconds(12);
+
+    private long maxTrackedKeys = 100_000;
+
+    private Duration idleExpiry = Duration.ofMinutes(10);
+}
@@ -0,0 +1,103 @@
+package com.upc.tukuntech.backend.config;
+
+import com.upc.tukuntech.backend.modules.auth.dto.AdminSessionSummary;
+import com.upc.tukuntech.backend.modules.auth.dto.AdminUserSummary;
+import com.upc.tukuntech.backend.modules.auth.dto.LoginRequest;
+import com.upc.tukuntech.backend.modules.auth.dto.LoginResponse;
+import com.upc.tukuntech.backend.modules.auth.dto.RefreshRequest;
+import com.upc.tukuntech.backend.modules.auth.dto.UserImportResult;
+import com.upc.tukuntech.backend.modules.auth.dto.UserImportRow;
+import com.upc.tukuntech.backend.modules.auth.dto.UserSummary;
+import com.upc.tukuntech.backend.modules.auth.entity.PermissionEntity;
+import com.upc.tukuntech.backend.modules.auth.entity.RoleEntity;
+import com.upc.tukuntech.backend.modules.auth.entity.SessionEntity;
+import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
+import com.upc.tukuntech.backend.modules.auth.repository.SessionRepository.AdminSessionRow;
+import com.upc.tukuntech.backend.modules.auth.repository.SessionRepository.RevokedSessionView;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository.AdminUserRow;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository.UserAuthRow;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository.UserRoleRow;
+import com.upc.tukuntech.backend.modules.auth.service.AuthUserDetails;
+import com.upc.tukuntech.backend.shared.api.ApiError;
+import com.upc.tukuntech.backend.shared.persistence.JdbcTimeListener;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.boot.context.properties.bind.BindableRuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.data.projection.TargetAware;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.sql.Connection;
+import java.util.stream.Stream;
+
+// Reachability metadata for the native image (./mvnw -Pnative native:compile). Spring AOT already covers
+// beans, controllers and JPA managed types; this adds what it cannot infer from bean definitions.
+@Configuration
+@ImportRuntimeHints(NativeConfig.Hints.class)
+public class NativeConfig {
+
+    static class Hints implements RuntimeHintsRegistrar {
+        // jjwt 0.11 creates its parser and builder through Classes.newInstance and finds its
+        // Jackson (de)serializer with ServiceLoader.
+        private static final String[] JJWT_TYPES = {
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+
+            // Entities are bound field-by-field by Hibernate; Lombok accessors are plain public methods.
+            Stream.of(UserEntity.class, RoleEntity.class, PermissionEntity.class, SessionEntity.class)
+                    .forEach(type -> hints.reflection().registerType(type,
+                            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS,
+                            MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.INVOKE_DECLARED_METHODS));
+
+            BindableRuntimeHintsRegistrar.forTypes(JwtProperties.class, CorsProps.class,
+                    LoginRateLimitProperties.class, PasswordHashingProperties.class, SessionRevocationProperties.class,
+                    SessionSweeperProperties.class, SessionWritesProperties.class, UserCacheProperties.class,
+                    SqlTrackingProperties.class, DatabaseConcurrencyProperties.class, UserProvisioningProperties.class)
+                    .registerHints(hints);
+
+            // Bodies (de)serialized with the ObjectMapper outside controller signatures (filters, the admin user
+            // streams), and /test/me, which returns ResponseEntity<?>.
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    ApiError.class, LoginRequest.class, LoginResponse.class, RefreshRequest.class, UserSummary.class,
+                    UsernamePasswordAuthenticationToken.class, WebAuthenticationDetails.class,
+                    AuthUserDetails.class, SimpleGrantedAuthority.class, UserImportRow.class, UserImportResult.class,
+                    AdminUserSummary.class, AdminSessionSummary.class);
+
+            // Spring Data projection proxies.
+            hints.proxies().registerJdkProxy(AopProxyUtils.completeJdkProxyInterfaces(UserAuthRow.class, TargetAware.class));
+            hints.proxies().registerJdkProxy(AopProxyUtils.completeJdkProxyInterfaces(RevokedSessionView.class, TargetAware.class));
+            hints.proxies().registerJdkProxy(AopProxyUtils.completeJdkProxyInterfaces(AdminUserRow.class, TargetAware.class));
+            hints.proxies().registerJdkProxy(AopProxyUtils.completeJdkProxyInterfaces(UserRoleRow.class, TargetAware.class));
+            hints.proxies().registerJdkProxy(AopProxyUtils.completeJdkProxyInterfaces(AdminSessionRow.class, TargetAware.class));
+
+            // ConcurrencyLimitedDataSource hands out Connection proxies.
+            hints.proxies().registerJdkProxy(Connection.class);
+
+            // Instantiated by Hibernate from its class name (hibernate.session.events.auto).
+            hints.reflection().registerType(JdbcTimeListener.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+}
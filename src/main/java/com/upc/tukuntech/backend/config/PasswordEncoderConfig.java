@@ -1,5 +1,8 @@
 package com.upc.tukuntech.backend.config;
 
+import com.upc.tukuntech.backend.shared.security.BoundedPasswordEncoder;
+import com.upc.tukuntech.backend.shared.security.ParallelPasswordHasher;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -7,8 +10,26 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class PasswordEncoderConfig {
+    public static final int BCRYPT_STRENGTH = 10;
+
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties props, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(BCRYPT_STRENGTH),
+                props.resolvedThreads(),
+                props.getQueueCapacity(),
+                props.getRetryAfter(),
+                meterRegistry
+        );
+    }
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(10);
+    public ParallelPasswordHasher bulkPasswordHasher(UserProvisioningProperties props, MeterRegistry meterRegistry) {
+        return new ParallelPasswordHasher(
+                new BCryptPasswordEncoder(BCRYPT_STRENGTH),
+                props.resolvedHashThreads(),
+                props.getHashQueueCapacity(),
+                meterRegistry
+        );
     }
 }
@@ -0,0 +1,24 @@
+package com.upc.tukuntech.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.security.password-hashing")
+@Getter @Setter
+public class PasswordHashingProperties {
+    // 0 means one hashing thread per available core.
+    private int threads = 0;
+
+    private int queueCapacity = 64;
+
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    public int resolvedThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
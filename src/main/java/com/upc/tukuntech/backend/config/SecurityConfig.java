@@ -1,6 +1,8 @@
 package com.upc.tukuntech.backend.config;
 
+import com.upc.tukuntech.backend.shared.security.BitsetAuthorizationManagers;
 import com.upc.tukuntech.backend.shared.security.JwtAuthenticationFilter;
+import com.upc.tukuntech.backend.shared.security.LoginRateLimitFilter;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -19,7 +21,9 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final LoginRateLimitFilter loginRateLimitFilter;
     private final AuthenticationProvider authenticationProvider;
+    private final BitsetAuthorizationManagers authorities;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -37,9 +41,9 @@ public class SecurityConfig {
                                 "/v3/api-docs/**",
                                 "/actuator/**"
                         ).permitAll()
-                        .requestMatchers("/admin/**").hasRole("ADMINISTRATOR")
-                        .requestMatchers("/attendant/**").hasRole("ATTENDANT")
-                        .requestMatchers("/patient/**").hasRole("PATIENT")
+                        .requestMatchers("/admin/**").access(authorities.hasRole("ADMINISTRATOR"))
+                        .requestMatchers("/attendant/**").access(authorities.hasRole("ATTENDANT"))
+                        .requestMatchers("/patient/**").access(authorities.hasRole("PATIENT"))
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(e -> e
@@ -54,6 +58,7 @@ public class SecurityConfig {
                             res.getWriter().write("{\"status\":403,\"error\":\"Forbidden\",\"message\":\"Access denied\"}");
                         })
                 )
+                .addFilterBefore(loginRateLimitFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
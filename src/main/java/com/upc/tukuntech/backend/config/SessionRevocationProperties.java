@@ -0,0 +1,18 @@
+package com.upc.tukuntech.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.security.session-revocation")
+@Getter @Setter
+public class SessionRevocationProperties {
+    private Duration pollInterval = Duration.ofSeconds(2);
+
+    // Re-read this far behind the last seen revocation to absorb clock skew and late commits.
+    private Duration overlap = Duration.ofSeconds(10);
+}
@@ -0,0 +1,24 @@
+package com.upc.tukuntech.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.security.session-sweeper")
+@Getter @Setter
+public class SessionSweeperProperties {
+    private boolean enabled = true;
+
+    private Duration interval = Duration.ofHours(1);
+
+    private int batchSize = 500;
+
+    private Duration pause = Duration.ofMillis(200);
+
+    // Revoked/expired rows are kept this long so refresh-token reuse is still detected.
+    private Duration retention = Duration.ofDays(1);
+}
@@ -0,0 +1,24 @@
+package com.upc.tukuntech.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.security.session-writes")
+@Getter @Setter
+public class SessionWritesProperties {
+    private boolean writeBehind = true;
+
+    private int batchSize = 50;
+
+    private Duration maxDelay = Duration.ofMillis(5);
+
+    private int queueCapacity = 1_000;
+
+    // How long a login waits for the flusher before committing the row itself or failing.
+    private Duration flushTimeout = Duration.ofSeconds(5);
+}
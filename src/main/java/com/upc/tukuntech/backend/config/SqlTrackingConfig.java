@@ -0,0 +1,24 @@
+package com.upc.tukuntech.backend.config;
+
+import com.upc.tukuntech.backend.shared.persistence.EntityLoadCounter;
+import com.upc.tukuntech.backend.shared.persistence.JdbcTimeListener;
+import com.upc.tukuntech.backend.shared.persistence.SqlStatementCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(value = "app.observability.sql-tracking.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTrackingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlTrackingCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+            properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadCounter());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimeListener.class.getName());
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.upc.tukuntech.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.observability.sql-tracking")
+@Getter @Setter
+public class SqlTrackingProperties {
+    private boolean enabled = true;
+
+    private Budget defaultBudget = new Budget();
+
+    private List<EndpointBudget> endpoints = new ArrayList<>();
+
+    @Getter @Setter
+    public static class Budget {
+        private int statements = 20;
+
+        private int entityLoads = 200;
+
+        // For streaming endpoints whose SQL grows with the payload: counts are still recorded, never flagged.
+        private boolean unbounded;
+    }
+
+    @Getter @Setter
+    public static class EndpointBudget extends Budget {
+        private String method;
+
+        // Spring MVC handler pattern, without the servlet context path (e.g. /auth/login).
+        private String pattern;
+    }
+}
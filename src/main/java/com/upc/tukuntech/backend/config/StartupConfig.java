@@ -0,0 +1,45 @@
+package com.upc.tukuntech.backend.config;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.MethodMetadata;
+
+import java.util.List;
+
+@Configuration
+public class StartupConfig {
+
+    // Beans declared in app.startup.lazy-bean-packages are created on first use instead of at startup.
+    // Meant for tooling off the request hot path (springdoc builds its OpenAPI model on the first /api-docs hit).
+    // Under AOT the lazy flag is captured into the generated bean definitions.
+    @Bean
+    public static BeanFactoryPostProcessor lazyBeanPackagesPostProcessor(Environment environment) {
+        List<String> packages = Binder.get(environment)
+                .bind("app.startup.lazy-bean-packages", Bindable.listOf(String.class))
+                .orElse(List.of());
+        return beanFactory -> {
+            if (packages.isEmpty()) return;
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                String declaringClass = declaringClass(definition);
+                if (declaringClass != null && packages.stream().anyMatch(p -> declaringClass.startsWith(p + "."))) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    private static String declaringClass(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            if (factoryMethod != null) return factoryMethod.getDeclaringClassName();
+        }
+        return definition.getBeanClassName();
+    }
+}
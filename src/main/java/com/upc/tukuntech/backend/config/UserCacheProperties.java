@@ -0,0 +1,20 @@
+package com.upc.tukuntech.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.security.user-cache")
+@Getter @Setter
+public class UserCacheProperties {
+    private long maximumSize = 10_000;
+
+    private Duration ttl = Duration.ofMinutes(5);
+
+    // How long a user's auth version is trusted before claims-based authentication reads it again.
+    private Duration authVersionTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,26 @@
+package com.upc.tukuntech.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.users.provisioning")
+@Getter @Setter
+public class UserProvisioningProperties {
+    // Rows per uniqueness check, id reservation and insert transaction.
+    private int batchSize = 500;
+
+    // 0 means half the cores, leaving the rest to login hashing.
+    private int hashThreads = 0;
+
+    private int hashQueueCapacity = 256;
+
+    // Moves the users id generator past ids handed out by the former AUTO_INCREMENT column.
+    private boolean alignIdGeneratorOnStartup = true;
+
+    public int resolvedHashThreads() {
+        return hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+}
@@ -0,0 +1,169 @@
+package com.upc.tukuntech.backend.modules.auth.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upc.tukuntech.backend.modules.auth.dto.UserImportResult;
+import com.upc.tukuntech.backend.modules.auth.service.UserDirectoryService;
+import com.upc.tukuntech.backend.modules.auth.service.UserImportService;
+import com.upc.tukuntech.backend.modules.auth.util.UserImportReader;
+import com.upc.tukuntech.backend.shared.security.RequireRole;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/users")
+@RequireRole("ADMINISTRATOR")
+@Tag(
+        name = "Admin users",
+        description = "User administration"
+)
+public class AdminUserController {
+    public static final String TEXT_CSV = "text/csv";
+
+    private final UserImportService importService;
+    private final UserDirectoryService directoryService;
+    private final ObjectMapper objectMapper;
+
+    public AdminUserController(UserImportService importService, UserDirectoryService directoryService,
+                               ObjectMapper objectMapper) {
+        this.importService = importService;
+        this.directoryService = directoryService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "List users",
+            description = "Users in id order, optionally filtered by role and enabled flag. Pass the returned next "
+                    + "value as after to read the following page; next is null on the last page.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "{\"items\": [user...], \"next\": id or null}"),
+                    @ApiResponse(responseCode = "400", description = "Unknown role or limit out of range"),
+                    @ApiResponse(responseCode = "403", description = "Caller is not an administrator")
+            }
+    )
+    public void listUsers(@RequestParam(required = false) String role,
+                          @RequestParam(required = false) Boolean enabled,
+                          @RequestParam(defaultValue = "0") long after,
+                          @RequestParam(defaultValue = "50") int limit,
+                          HttpServletResponse response) throws IOException {
+        JsonPage page = new JsonPage(response);
+        page.finish(directoryService.listUsers(role, enabled, after, limit, page::write));
+    }
+
+    @GetMapping(value = "/{id}/sessions", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "List a user's sessions",
+            description = "Sessions newest first; active=true keeps live ones, active=false revoked ones. Pass the "
+                    + "returned next value as cursor to read the following page; next is null on the last page.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "{\"items\": [session...], \"next\": cursor or null}"),
+                    @ApiResponse(responseCode = "400", description = "Malformed cursor or limit out of range"),
+                    @ApiResponse(responseCode = "403", description = "Caller is not an administrator"),
+                    @ApiResponse(responseCode = "404", description = "No such user")
+            }
+    )
+    public void listSessions(@PathVariable long id,
+                             @RequestParam(required = false) Boolean active,
+                             @RequestParam(required = false) String cursor,
+                             @RequestParam(defaultValue = "50") int limit,
+                             HttpServletResponse response) throws IOException {
+        JsonPage page = new JsonPage(response);
+        page.finish(directoryService.listSessions(id, active, cursor, limit, page::write));
+    }
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Bulk user import",
+            description = "Creates users from an NDJSON or CSV body (email, dni, password, firstName, lastName, roles). "
+                    + "The body is read as a stream and one NDJSON result per input row is streamed back.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Per-row results: CREATED, DUPLICATE, INVALID or FAILED"),
+                    @ApiResponse(responseCode = "403", description = "Caller is not an administrator")
+            }
+    )
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserImportReader.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+                ? UserImportReader.Format.CSV
+                : UserImportReader.Format.NDJSON;
+        Charset charset = request.getCharacterEncoding() == null
+                ? StandardCharsets.UTF_8
+                : Charset.forName(request.getCharacterEncoding());
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        ServletOutputStream out = response.getOutputStream();
+        try (BufferedReader body = new BufferedReader(new InputStreamReader(request.getInputStream(), charset))) {
+            importService.importUsers(new UserImportReader(body, format, objectMapper), results -> {
+                try {
+                    for (UserImportResult r : results) {
+                        out.write(objectMapper.writeValueAsBytes(r));
+                        out.write('\n');
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    // Streams {"items": [...], "next": ...} chunk by chunk. Nothing is written before the first chunk, so
+    // validation errors still reach the client as an ApiError; a failure mid-page leaves the JSON unterminated.
+    private final class JsonPage {
+        private final HttpServletResponse response;
+        private JsonGenerator json;
+
+        JsonPage(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        void write(List<?> items) {
+            try {
+                start();
+                for (Object item : items) json.writeObject(item);
+                json.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish(Object next) throws IOException {
+            start();
+            json.writeEndArray();
+            json.writeObjectField("next", next);
+            json.writeEndObject();
+            json.close();
+        }
+
+        private void start() throws IOException {
+            if (json != null) return;
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            json = objectMapper.getFactory().createGenerator(response.getOutputStream());
+            json.writeStartObject();
+            json.writeArrayFieldStart("items");
+        }
+    }
+}
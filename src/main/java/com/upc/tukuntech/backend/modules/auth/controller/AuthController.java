@@ -1,7 +1,9 @@
 package com.upc.tukuntech.backend.modules.auth.controller;
 import com.upc.tukuntech.backend.modules.auth.dto.LoginRequest;
 import com.upc.tukuntech.backend.modules.auth.dto.LoginResponse;
+import com.upc.tukuntech.backend.modules.auth.dto.RefreshRequest;
 import com.upc.tukuntech.backend.modules.auth.service.AuthApplicationService;
+import com.upc.tukuntech.backend.shared.security.ClientIp;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -35,16 +37,26 @@ public class AuthController {
             }
     )
     public ResponseEntity<LoginResponse> login(@RequestBody @Valid LoginRequest request, HttpServletRequest http){
-        String ip = clientIp(http);
+        String ip = ClientIp.of(http);
         String ua = http.getHeader("User-Agent");
         return ResponseEntity.ok(authApp.login(request, ip, ua));
 
     }
 
-    private String clientIp(HttpServletRequest req){
-        String xf = req.getHeader("X-Forwarded-For");
-        if (xf != null && !xf.isBlank()) return xf.split(",")[0].trim();
-        return req.getRemoteAddr();
+    @PostMapping("/refresh")
+    @Operation(
+            summary = "Refresh access token",
+            description = "Exchange a refresh token for a new access token, rotating the refresh token.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tokens refreshed, the previous refresh token is no longer valid"),
+                    @ApiResponse(responseCode = "401", description = "Unknown, expired, revoked or reused refresh token"),
+                    @ApiResponse(responseCode = "403", description = "User is disabled or blocked")
+            }
+    )
+    public ResponseEntity<LoginResponse> refresh(@RequestBody @Valid RefreshRequest request, HttpServletRequest http){
+        String ip = ClientIp.of(http);
+        String ua = http.getHeader("User-Agent");
+        return ResponseEntity.ok(authApp.refresh(request, ip, ua));
     }
 
 
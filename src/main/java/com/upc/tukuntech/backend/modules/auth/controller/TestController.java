@@ -1,8 +1,8 @@
 package com.upc.tukuntech.backend.modules.auth.controller;
 
+import com.upc.tukuntech.backend.shared.security.RequireRole;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -22,19 +22,19 @@ public class TestController {
     }
 
     @GetMapping("/admin/ping")
-    @PreAuthorize("hasRole('ADMINISTRATOR')")
+    @RequireRole("ADMINISTRATOR")
     public String adminPing() {
         return "pong admin";
     }
 
     @GetMapping("/attendant/ping")
-    @PreAuthorize("hasRole('ATTENDANT')")
+    @RequireRole("ATTENDANT")
     public String attendantPing() {
         return "pong attendant";
     }
 
     @GetMapping("/patient/ping")
-    @PreAuthorize("hasRole('PATIENT')")
+    @RequireRole("PATIENT")
     public String patientPing() {
         return "pong patient";
     }
@@ -0,0 +1,14 @@
+package com.upc.tukuntech.backend.modules.auth.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record AdminSessionSummary(
+        UUID id,
+        Instant createdAt,
+        Instant refreshExpiresAt,
+        boolean active,
+        Instant revokedAt,
+        String ip,
+        String userAgent
+) {}
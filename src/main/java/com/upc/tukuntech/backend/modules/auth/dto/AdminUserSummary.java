@@ -0,0 +1,13 @@
+package com.upc.tukuntech.backend.modules.auth.dto;
+
+import java.util.Set;
+
+public record AdminUserSummary(
+        Long id,
+        String email,
+        String dni,
+        String firstName,
+        String lastName,
+        boolean enabled,
+        Set<String> roles
+) {}
@@ -0,0 +1,7 @@
+package com.upc.tukuntech.backend.modules.auth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshRequest(
+        @NotBlank String refreshToken
+) {}
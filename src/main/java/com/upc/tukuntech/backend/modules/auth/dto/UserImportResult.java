@@ -0,0 +1,22 @@
+package com.upc.tukuntech.backend.modules.auth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserImportResult(
+        long line,
+        String email,
+        Status status,
+        Long id,
+        String error
+) {
+    public enum Status { CREATED, DUPLICATE, INVALID, FAILED }
+
+    public static UserImportResult created(long line, String email, long id) {
+        return new UserImportResult(line, email, Status.CREATED, id, null);
+    }
+
+    public static UserImportResult rejected(long line, String email, Status status, String error) {
+        return new UserImportResult(line, email, status, null, error);
+    }
+}
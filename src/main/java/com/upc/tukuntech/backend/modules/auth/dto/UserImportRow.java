@@ -0,0 +1,12 @@
+package com.upc.tukuntech.backend.modules.auth.dto;
+
+import java.util.List;
+
+public record UserImportRow(
+        String email,
+        String dni,
+        String password,
+        String firstName,
+        String lastName,
+        List<String> roles
+) {}
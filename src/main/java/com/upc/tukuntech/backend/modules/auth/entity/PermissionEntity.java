@@ -1,5 +1,6 @@
 package com.upc.tukuntech.backend.modules.auth.entity;
 
+import com.upc.tukuntech.backend.modules.auth.service.RoleAuthChangeListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -7,6 +8,7 @@ import lombok.Setter;
 @Entity
 @Table(name = "permissions")
 @Getter @Setter
+@EntityListeners(RoleAuthChangeListener.class)
 public class PermissionEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
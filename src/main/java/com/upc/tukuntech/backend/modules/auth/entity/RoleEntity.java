@@ -1,5 +1,6 @@
 package com.upc.tukuntech.backend.modules.auth.entity;
 
+import com.upc.tukuntech.backend.modules.auth.service.RoleAuthChangeListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -11,6 +12,7 @@ import java.util.Set;
 @Entity
 @Table(name = "roles")
 @Getter @Setter
+@EntityListeners(RoleAuthChangeListener.class)
 public class RoleEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,7 +21,7 @@ public class RoleEntity {
     @Column(nullable = false, unique = true, length = 32)
     private String name;
 
-    @ManyToMany( fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "role_permissions",
             joinColumns = @JoinColumn(name = "role_id"),
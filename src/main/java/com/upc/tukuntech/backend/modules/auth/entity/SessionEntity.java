@@ -1,19 +1,31 @@
 package com.upc.tukuntech.backend.modules.auth.entity;
 
+import com.upc.tukuntech.backend.shared.util.UuidV7;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "sessions")
+@Table(
+        name = "sessions",
+        indexes = {
+                @Index(name = "sessions_refresh_token_hash", columnList = "refresh_token_hash", unique = true),
+                @Index(name = "sessions_previous_refresh_token_hash", columnList = "previous_refresh_token_hash"),
+                @Index(name = "sessions_user_active_created", columnList = "user_id, is_active, created_at"),
+                @Index(name = "sessions_refresh_expires_at", columnList = "refresh_expires_at"),
+                @Index(name = "sessions_revoked_at", columnList = "revoked_at")
+        }
+)
 @Getter @Setter
-public class SessionEntity {
+public class SessionEntity implements Persistable<UUID> {
     @Id
     @Column(columnDefinition = "BINARY(16)")
-    private UUID id = UUID.randomUUID();
+    private UUID id = UuidV7.generate();
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_sessions_user"))
@@ -22,6 +34,9 @@ public class SessionEntity {
     @Column(name = "refresh_token_hash", nullable = false, length = 64)
     private String refreshTokenHash;
 
+    @Column(name = "previous_refresh_token_hash", length = 64)
+    private String previousRefreshTokenHash;
+
     @Column(name = "access_expires_at",  nullable = false)
     private Instant accessExpiresAt;
 
@@ -46,6 +61,21 @@ public class SessionEntity {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt = Instant.now();
 
+    // Ids are assigned up front, so Spring Data would otherwise merge (SELECT first) instead of persist.
+    @Transient
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() { return newEntity; }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() { this.newEntity = false; }
+
+    // For a retry after a rolled-back persist, which has already flagged the row as stored.
+    public void markNew() { this.newEntity = true; }
+
     @PreUpdate
     void touch() { this.updatedAt = Instant.now(); }
 
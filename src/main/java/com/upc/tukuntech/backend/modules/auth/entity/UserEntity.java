@@ -1,5 +1,7 @@
 package com.upc.tukuntech.backend.modules.auth.entity;
 
+import com.upc.tukuntech.backend.modules.auth.service.UserAuthChangeListener;
+import com.upc.tukuntech.backend.modules.auth.service.UserIdAllocator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -16,9 +18,14 @@ import java.util.Set;
         }
 )
 @Getter @Setter
+@EntityListeners(UserAuthChangeListener.class)
 public class UserEntity {
+    // Ids come in blocks from id_generators (pooled-lo), so inserts can be JDBC-batched; the bulk import
+    // reserves its blocks from the same row through UserIdAllocator.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = UserIdAllocator.GENERATOR)
+    @TableGenerator(name = UserIdAllocator.GENERATOR, table = UserIdAllocator.TABLE,
+            pkColumnValue = UserIdAllocator.SEGMENT, allocationSize = UserIdAllocator.ALLOCATION_SIZE)
     private Long id;
     
     @Column(length = 80)
@@ -39,12 +46,17 @@ public class UserEntity {
     @Column(nullable = false)
     private Boolean enabled = true;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @Version
+    @Column(name = "auth_version", nullable = false)
+    private Long authVersion = 0L;
+
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "user_roles",
             joinColumns        = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "role_id"),
-            uniqueConstraints  = @UniqueConstraint(name = "uk_user_role", columnNames = {"user_id","role_id"})
+            uniqueConstraints  = @UniqueConstraint(name = "uk_user_role", columnNames = {"user_id","role_id"}),
+            indexes            = @Index(name = "user_roles_role_user", columnList = "role_id, user_id")
     )
     private Set<RoleEntity> roles = new HashSet<>();
 
@@ -1,10 +1,17 @@
 package com.upc.tukuntech.backend.modules.auth.repository;
 
 import com.upc.tukuntech.backend.modules.auth.entity.RoleEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<RoleEntity, Long> {
     Optional<RoleEntity> findByName(String name);
+
+    @EntityGraph(attributePaths = "permissions")
+    @Query("select r from RoleEntity r")
+    List<RoleEntity> findAllWithPermissions();
 }
@@ -2,14 +2,36 @@ package com.upc.tukuntech.backend.modules.auth.repository;
 
 import com.upc.tukuntech.backend.modules.auth.entity.SessionEntity;
 import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface SessionRepository extends JpaRepository<SessionEntity, UUID> {
+    interface RevokedSessionView {
+        UUID getId();
+        Instant getRevokedAt();
+    }
+
+    interface AdminSessionRow {
+        UUID getId();
+        Instant getCreatedAt();
+        Instant getRefreshExpiresAt();
+        Boolean getActive();
+        Instant getRevokedAt();
+        String getIp();
+        String getUserAgent();
+    }
+
     List<SessionEntity> findByUserAndActiveTrue(UserEntity user);
 
     Optional<SessionEntity> findByIdAndActiveTrue(UUID id);
@@ -22,5 +44,47 @@ public interface SessionRepository extends JpaRepository<SessionEntity, UUID> {
 
     Optional<SessionEntity> findByRefreshTokenHashAndActiveTrue(String refreshTokenHash);
 
+    @Query("select s.user.id from SessionEntity s where s.refreshTokenHash = :hash")
+    Optional<Long> findUserIdByRefreshTokenHash(@Param("hash") String refreshTokenHash);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from SessionEntity s join fetch s.user where s.refreshTokenHash = :hash")
+    Optional<SessionEntity> findForRotation(@Param("hash") String refreshTokenHash);
+
+    Optional<SessionEntity> findByPreviousRefreshTokenHash(String previousRefreshTokenHash);
+
+    @Query("select s.id from SessionEntity s where s.user.id = :userId and s.active = true order by s.createdAt desc, s.id desc")
+    List<UUID> findActiveIdsNewestFirst(@Param("userId") Long userId, Pageable page);
+
+    @Modifying
+    @Query("update SessionEntity s set s.active = false, s.revokedAt = :now, s.updatedAt = :now " +
+            "where s.user.id in :userIds and s.active = true and s.id not in :keep")
+    int revokeActiveExcept(@Param("userIds") Collection<Long> userIds, @Param("keep") Collection<UUID> keep, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update SessionEntity s set s.active = false, s.revokedAt = :now, s.updatedAt = :now " +
+            "where s.user.id in :userIds and s.active = true")
+    int revokeAllActive(@Param("userIds") Collection<Long> userIds, @Param("now") Instant now);
+
+    @Query("select s.id as id, s.revokedAt as revokedAt from SessionEntity s where s.revokedAt >= :since")
+    List<RevokedSessionView> findRevokedSince(@Param("since") Instant since);
+
+    @Query("select s.id from SessionEntity s where s.id > :after " +
+            "and (s.revokedAt < :cutoff or s.refreshExpiresAt < :cutoff) order by s.id")
+    List<UUID> findPurgeableIdsAfter(@Param("after") UUID after, @Param("cutoff") Instant cutoff, Pageable page);
+
+    // Newest first, seeking past (createdAt, id) of the last row returned; with a status it follows
+    // sessions_user_active_created, whose implicit id suffix breaks createdAt ties.
+    @Query("select s.id as id, s.createdAt as createdAt, s.refreshExpiresAt as refreshExpiresAt, s.active as active, " +
+            "s.revokedAt as revokedAt, s.ip as ip, s.userAgent as userAgent from SessionEntity s " +
+            "where s.user.id = :userId and (:active is null or s.active = :active) " +
+            "and (s.createdAt < :createdAt or (s.createdAt = :createdAt and s.id < :id)) " +
+            "order by s.createdAt desc, s.id desc")
+    List<AdminSessionRow> findAdminRowsBefore(@Param("userId") Long userId, @Param("active") Boolean active,
+                                              @Param("createdAt") Instant createdAt, @Param("id") UUID id, Pageable page);
+
+    @Modifying
+    @Query("delete from SessionEntity s where s.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
 
 }
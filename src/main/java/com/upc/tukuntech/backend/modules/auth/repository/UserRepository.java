@@ -1,11 +1,67 @@
 package com.upc.tukuntech.backend.modules.auth.repository;
 
 import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
+    // One row per role (a single row with a null role id for users without roles).
+    interface UserAuthRow {
+        Long getId();
+        String getEmail();
+        String getPassword();
+        Boolean getEnabled();
+        Long getAuthVersion();
+        Integer getRoleId();
+    }
+
+    interface AdminUserRow {
+        Long getId();
+        String getEmail();
+        String getDni();
+        String getFirstName();
+        String getLastName();
+        Boolean getEnabled();
+    }
+
+    interface UserRoleRow {
+        Long getUserId();
+        Integer getRoleId();
+    }
+
     Optional<UserEntity> findByEmail(String email);
+
+    @Query("select u.id as id, u.email as email, u.password as password, u.enabled as enabled, " +
+            "u.authVersion as authVersion, r.id as roleId " +
+            "from UserEntity u left join u.roles r where u.email = :email")
+    List<UserAuthRow> findAuthRowsByEmail(@Param("email") String email);
+
     Optional<UserEntity> findByDni(String dni);
+
+    @Query("select u.authVersion from UserEntity u where u.email = :email")
+    Optional<Long> findAuthVersionByEmail(@Param("email") String email);
+
+    @Query(value = "SELECT id FROM users WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockAllById(@Param("ids") Collection<Long> ids);
+
+    // Keyset pages in id order; the role variant walks the (role_id, user_id) index instead of every user.
+    @Query("select u.id as id, u.email as email, u.dni as dni, u.firstName as firstName, u.lastName as lastName, " +
+            "u.enabled as enabled from UserEntity u " +
+            "where u.id > :after and (:enabled is null or u.enabled = :enabled) order by u.id")
+    List<AdminUserRow> findAdminRowsAfter(@Param("after") long after, @Param("enabled") Boolean enabled, Pageable page);
+
+    @Query("select u.id as id, u.email as email, u.dni as dni, u.firstName as firstName, u.lastName as lastName, " +
+            "u.enabled as enabled from UserEntity u join u.roles r " +
+            "where r.id = :roleId and u.id > :after and (:enabled is null or u.enabled = :enabled) order by u.id")
+    List<AdminUserRow> findAdminRowsWithRoleAfter(@Param("roleId") Integer roleId, @Param("after") long after,
+                                                  @Param("enabled") Boolean enabled, Pageable page);
+
+    @Query("select u.id as userId, r.id as roleId from UserEntity u join u.roles r where u.id in :ids")
+    List<UserRoleRow> findRoleIdsByUserIds(@Param("ids") Collection<Long> ids);
 }
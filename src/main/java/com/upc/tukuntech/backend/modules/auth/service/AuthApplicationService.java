@@ -2,55 +2,104 @@ package com.upc.tukuntech.backend.modules.auth.service;
 
 import com.upc.tukuntech.backend.modules.auth.dto.LoginRequest;
 import com.upc.tukuntech.backend.modules.auth.dto.LoginResponse;
+import com.upc.tukuntech.backend.modules.auth.dto.RefreshRequest;
 import com.upc.tukuntech.backend.modules.auth.dto.UserSummary;
-import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
-import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
+import com.upc.tukuntech.backend.shared.security.AuthMetrics;
+import com.upc.tukuntech.backend.shared.security.AuthMetrics.LoginOutcome;
+import com.upc.tukuntech.backend.shared.security.AuthMetrics.LoginStage;
+import com.upc.tukuntech.backend.shared.security.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
-import java.util.stream.Collectors;
 
 @Service
 public class AuthApplicationService {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
-    private final UserRepository userRepository;
     private final SessionService sessionService;
+    private final CustomUserDetailsService userDetailsService;
+    private final AuthMetrics metrics;
 
-    public AuthApplicationService(AuthenticationManager authenticationManager, JwtService jwtService, UserRepository userRepository, SessionService sessionService) {
+    public AuthApplicationService(AuthenticationManager authenticationManager, JwtService jwtService,
+                                  SessionService sessionService, CustomUserDetailsService userDetailsService,
+                                  AuthMetrics metrics) {
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
-        this.userRepository = userRepository;
         this.sessionService = sessionService;
+        this.userDetailsService = userDetailsService;
+        this.metrics = metrics;
     }
 
     public LoginResponse login(LoginRequest request, String clientIp, String userAgent) {
+        Timer.Sample sample = Timer.start();
+        LoginOutcome outcome = LoginOutcome.ERROR;
         try {
-            authenticationManager.authenticate(
+            LoginResponse response = doLogin(request, clientIp, userAgent);
+            outcome = LoginOutcome.SUCCESS;
+            return response;
+        } catch (ResponseStatusException ex) {
+            if (ex.getStatusCode() == HttpStatus.UNAUTHORIZED) outcome = LoginOutcome.BAD_CREDENTIALS;
+            throw ex;
+        } catch (PasswordHashingBusyException ex) {
+            outcome = LoginOutcome.BUSY;
+            throw ex;
+        } finally {
+            sample.stop(metrics.login(outcome));
+        }
+    }
+
+    private LoginResponse doLogin(LoginRequest request, String clientIp, String userAgent) {
+        Authentication authentication;
+        Timer.Sample authenticate = Timer.start();
+        try {
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.email(), request.password())
             );
         } catch (BadCredentialsException ex) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid email or password");
+        } catch (InternalAuthenticationServiceException ex) {
+            // DaoAuthenticationProvider wraps encoder failures raised while loading the user.
+            if (ex.getCause() instanceof PasswordHashingBusyException busy) throw busy;
+            throw ex;
+        } finally {
+            authenticate.stop(metrics.loginStage(LoginStage.AUTHENTICATE));
         }
 
-        UserEntity user = userRepository.findByEmail(request.email())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid email or password"));
+        // The principal is the graph CustomUserDetailsService already loaded; don't fetch the user again.
+        AuthUserDetails user = (AuthUserDetails) authentication.getPrincipal();
 
-        String accessToken = jwtService.generateAccessToken(user);
         long accessTtl     = jwtService.getAccessTtlSeconds();
         Instant accessExpAt = Instant.now().plusSeconds(accessTtl);
 
-        String refreshToken = sessionService.registerLogin(user, clientIp, userAgent, accessExpAt);
+        IssuedSession session = metrics.loginStage(LoginStage.SESSION_WRITE)
+                .record(() -> sessionService.registerLogin(user.getId(), clientIp, userAgent, accessExpAt));
+        String accessToken = metrics.loginStage(LoginStage.TOKEN_SIGN)
+                .record(() -> jwtService.generateAccessToken(user, session.sessionId()));
+
+        return new LoginResponse(accessToken, "Bearer", accessTtl, session.refreshToken(), toSummary(user));
+    }
 
-        var roles = user.getRoles().stream().map(r -> r.getName()).collect(Collectors.toSet());
-        UserSummary summary = new UserSummary(user.getId(), user.getEmail(), roles);
+    public LoginResponse refresh(RefreshRequest request, String clientIp, String userAgent) {
+        long accessTtl     = jwtService.getAccessTtlSeconds();
+        Instant accessExpAt = Instant.now().plusSeconds(accessTtl);
+
+        RefreshedSession refreshed = sessionService.rotate(request.refreshToken(), clientIp, userAgent, accessExpAt);
+        AuthUserDetails user = userDetailsService.loadUserByUsername(refreshed.user().getEmail());
+
+        String accessToken = jwtService.generateAccessToken(user, refreshed.sessionId());
+        return new LoginResponse(accessToken, "Bearer", accessTtl, refreshed.refreshToken(), toSummary(user));
+    }
 
-        return new LoginResponse(accessToken, "Bearer", accessTtl, refreshToken, summary);
+    private static UserSummary toSummary(AuthUserDetails user) {
+        return new UserSummary(user.getId(), user.getUsername(), user.getRoles());
     }
 
 
@@ -0,0 +1,62 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.upc.tukuntech.backend.modules.auth.util.AuthorityBits;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+@Getter
+public class AuthUserDetails implements UserDetails {
+    private final Long id;
+    private final String username;
+    @JsonIgnore
+    private final String password;
+    private final boolean enabled;
+    private final Long authVersion;
+    @JsonIgnore
+    private final Set<Integer> roleIds;
+    private final Set<String> roles;
+    private final List<GrantedAuthority> authorities;
+    @JsonIgnore
+    private final AuthorityBits authorityBits;
+
+    public AuthUserDetails(Long id, String username, String password, boolean enabled, Long authVersion,
+                           Set<Integer> roleIds, Set<String> roles, List<GrantedAuthority> authorities,
+                           AuthorityBits authorityBits) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.enabled = enabled;
+        this.authVersion = authVersion;
+        this.roleIds = Set.copyOf(roleIds);
+        this.roles = Set.copyOf(roles);
+        this.authorities = List.copyOf(authorities);
+        this.authorityBits = authorityBits;
+    }
+
+    public static AuthUserDetails of(Long id, String username, String password, boolean enabled, Long authVersion,
+                                     Collection<Integer> roleIds, RoleAuthorityIndex index) {
+        RoleAuthorityIndex.Resolved resolved = index.resolve(roleIds);
+        return new AuthUserDetails(id, username, password, enabled, authVersion,
+                Set.copyOf(roleIds), resolved.roleNames(), resolved.authorities(), resolved.bits());
+    }
+
+    public static AuthUserDetails from(VerifiedToken token, RoleAuthorityIndex index) {
+        return of(token.userId(), token.subject(), null, true, token.authVersion(), token.roleIds(), index);
+    }
+
+    @JsonIgnore
+    public List<String> getAuthorityNames() {
+        return authorities.stream().map(GrantedAuthority::getAuthority).toList();
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return enabled;
+    }
+}
@@ -0,0 +1,49 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.upc.tukuntech.backend.config.UserCacheProperties;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+// Latest committed auth version per user, read through from the database. Entries expire after a short TTL, so a
+// disable or role change committed on another node stops claims-based authentication here within that window.
+@Component
+public class AuthVersionRegistry {
+    private final Cache<String, Long> latestVersions;
+    private final UserRepository userRepository;
+
+    // Lazy: the registry is needed by a JPA entity listener, i.e. while the EntityManagerFactory is being built.
+    public AuthVersionRegistry(@Lazy UserRepository userRepository, UserCacheProperties cacheProperties) {
+        this.userRepository = userRepository;
+        this.latestVersions = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumSize())
+                .expireAfterWrite(cacheProperties.getAuthVersionTtl())
+                .build();
+    }
+
+    // Only with committed versions: one that rolls back would push valid tokens onto the database path.
+    public void advance(String email, long version) {
+        latestVersions.asMap().merge(email, version, Math::max);
+    }
+
+    public void forget(String email) {
+        latestVersions.invalidate(email);
+    }
+
+    public boolean isCurrent(String email, Long tokenVersion) {
+        if (tokenVersion == null) return false;
+        Long latest = latestVersions.getIfPresent(email);
+        if (latest == null) {
+            // Not seen within the TTL: a change made elsewhere must still invalidate the token.
+            Optional<Long> stored = userRepository.findAuthVersionByEmail(email);
+            // A missing user is not remembered, so the email works again if it is registered anew.
+            if (stored.isEmpty()) return false;
+            latest = latestVersions.asMap().merge(email, stored.get(), Math::max);
+        }
+        return tokenVersion >= latest;
+    }
+}
@@ -0,0 +1,209 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.modules.auth.util.AuthorityBits;
+import com.upc.tukuntech.backend.modules.auth.util.InstancePool;
+import io.jsonwebtoken.JwtException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+// Compact access-token profile: "v2." + base64url(binary claims) + "." + base64url(HMAC-SHA256).
+// Claims are varint-packed (uid, ver, sid, iat, ttl, role bits, sub); the issuer is not sent
+// but is mixed into the MAC, so tokens from another issuer sharing the key still fail.
+public class CompactTokenCodec {
+    public static final String PREFIX = "v2.";
+
+    private static final byte FORMAT_VERSION = 2;
+    private static final int MAC_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final InstancePool<Mac> macs;
+    private final byte[] issuer;
+    private final int maxLength;
+    private final Duration allowedClockSkew;
+
+    public CompactTokenCodec(Key signingKey, String issuer, int maxLength, Duration allowedClockSkew) {
+        SecretKeySpec key = new SecretKeySpec(signingKey.getEncoded(), "HmacSHA256");
+        this.macs = new InstancePool<>(() -> newMac(key));
+        this.issuer = issuer.getBytes(StandardCharsets.UTF_8);
+        this.maxLength = maxLength;
+        this.allowedClockSkew = allowedClockSkew;
+    }
+
+    public static boolean isCompact(String token) {
+        return token.startsWith(PREFIX);
+    }
+
+    public String encode(long userId, String subject, long authVersion, UUID sessionId,
+                         AuthorityBits roleBits, Instant issuedAt, Instant expiresAt) {
+        byte[] sub = subject.getBytes(StandardCharsets.UTF_8);
+        byte[] roles = roleBits.toByteArray();
+        Writer body = new Writer(64 + roles.length + sub.length);
+        body.writeByte(FORMAT_VERSION);
+        body.writeVarLong(userId);
+        body.writeVarLong(authVersion);
+        body.writeLong(sessionId.getMostSignificantBits());
+        body.writeLong(sessionId.getLeastSignificantBits());
+        body.writeVarLong(issuedAt.getEpochSecond());
+        body.writeVarLong(expiresAt.getEpochSecond() - issuedAt.getEpochSecond());
+        body.writeBytes(roles);
+        body.writeBytes(sub);
+
+        byte[] payload = body.toByteArray();
+        String token = PREFIX + ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+        if (token.length() > maxLength) {
+            throw new IllegalStateException("Compact token of " + token.length() + " chars exceeds limit of " + maxLength);
+        }
+        return token;
+    }
+
+    public VerifiedToken decode(String token) {
+        if (token.length() > maxLength) throw new CompactTokenException("Token too long");
+        int dot = token.indexOf('.', PREFIX.length());
+        if (!isCompact(token) || dot < 0) throw new CompactTokenException("Malformed token");
+
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(PREFIX.length(), dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new CompactTokenException("Malformed token");
+        }
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            throw new CompactTokenException("Invalid token signature");
+        }
+
+        try {
+            Reader body = new Reader(payload);
+            if (body.readByte() != FORMAT_VERSION) throw new CompactTokenException("Unsupported token version");
+            long userId = body.readVarLong();
+            long authVersion = body.readVarLong();
+            UUID sessionId = new UUID(body.readLong(), body.readLong());
+            long issuedAt = body.readVarLong();
+            Instant expiresAt = Instant.ofEpochSecond(issuedAt + body.readVarLong());
+            AuthorityBits roleBits = AuthorityBits.fromByteArray(body.readBytes());
+            String subject = new String(body.readBytes(), StandardCharsets.UTF_8);
+
+            if (Instant.now().minus(allowedClockSkew).isAfter(expiresAt)) {
+                throw new CompactTokenException("Token expired");
+            }
+            return new VerifiedToken(subject, userId, sessionId, roleBits.roleIds(), authVersion, expiresAt);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new CompactTokenException("Truncated token");
+        } catch (CompactTokenException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // Out-of-range instants and the like: callers only handle JwtException as "invalid token".
+            throw new CompactTokenException("Malformed token");
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        Mac mac = macs.acquire();
+        try {
+            mac.update(issuer);
+            return mac.doFinal(payload);
+        } finally {
+            macs.release(mac);
+        }
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    public static class CompactTokenException extends JwtException {
+        public CompactTokenException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class Writer {
+        private byte[] buf;
+        private int pos;
+
+        Writer(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        void writeByte(int b) {
+            if (pos == buf.length) buf = Arrays.copyOf(buf, buf.length * 2);
+            buf[pos++] = (byte) b;
+        }
+
+        void writeVarLong(long v) {
+            while ((v & ~0x7FL) != 0) {
+                writeByte((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            writeByte((int) v);
+        }
+
+        void writeLong(long v) {
+            for (int shift = 56; shift >= 0; shift -= 8) writeByte((int) (v >>> shift));
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            for (byte b : bytes) writeByte(b);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        byte readByte() {
+            return buf[pos++];
+        }
+
+        long readVarLong() {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return v;
+            }
+            throw new CompactTokenException("Malformed varint");
+        }
+
+        long readLong() {
+            long v = 0;
+            for (int i = 0; i < 8; i++) v = (v << 8) | (readByte() & 0xFF);
+            return v;
+        }
+
+        byte[] readBytes() {
+            long len = readVarLong();
+            if (len < 0 || len > buf.length - pos) throw new CompactTokenException("Malformed length");
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + (int) len);
+            pos += (int) len;
+            return bytes;
+        }
+    }
+}
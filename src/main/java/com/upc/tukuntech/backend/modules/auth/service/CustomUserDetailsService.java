@@ -1,49 +1,79 @@
 package com.upc.tukuntech.backend.modules.auth.service;
 
-import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.upc.tukuntech.backend.config.UserCacheProperties;
 import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository.UserAuthRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final RoleAuthorityIndex roleAuthorityIndex;
+    private final AuthVersionRegistry authVersionRegistry;
+    private final Cache<String, AuthUserDetails> cache;
+    // Bumped before every eviction; a load only caches its result if no eviction happened since it started.
+    private final AtomicLong evictions = new AtomicLong();
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, RoleAuthorityIndex roleAuthorityIndex,
+                                    AuthVersionRegistry authVersionRegistry, UserCacheProperties cacheProperties,
+                                    MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        this.roleAuthorityIndex = roleAuthorityIndex;
+        this.authVersionRegistry = authVersionRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumSize())
+                .expireAfterWrite(cacheProperties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException{
-        UserEntity u = userRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-
-        Set<GrantedAuthority> authorities = new HashSet<>();
-
-        u.getRoles().forEach(r -> {
-            authorities.add(new SimpleGrantedAuthority("ROLE_" + r.getName()));
-            r.getPermissions().forEach(p -> authorities.add(new SimpleGrantedAuthority("PERM_" + p.getName())));
-        });
-
-        return User
-                .withUsername(u.getEmail())
-                .password(u.getPassword())
-                .authorities(authorities)
-                .accountExpired(false)
-                .accountLocked(!u.getEnabled())
-                .credentialsExpired(false)
-                .disabled(!u.getEnabled())
-                .build();
+    public AuthUserDetails loadUserByUsername(String username) throws UsernameNotFoundException{
+        // Not cache.get(key, loader): that runs the query inside a ConcurrentHashMap bin lock, which
+        // pins the carrier of a virtual thread for the whole round trip. A racing miss loads twice.
+        AuthUserDetails cached = cache.getIfPresent(username);
+        if (cached != null) return cached;
+        long generation = evictions.get();
+        AuthUserDetails loaded = load(username);
+        // An eviction that lands mid-load (user disabled, roles changed) must not be undone by this put. The check
+        // runs under the entry's lock, which evict's invalidate also takes, so it cannot slip between the two.
+        cache.asMap().compute(username, (key, current) -> evictions.get() == generation ? loaded : current);
+        return loaded;
+    }
+
+    public void evict(String username) {
+        evictions.incrementAndGet();
+        cache.invalidate(username);
+    }
+
+    public void evictAll() {
+        evictions.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    // User columns plus role ids in one statement; authority names come from the role index.
+    private AuthUserDetails load(String username) {
+        List<UserAuthRow> rows = userRepository.findAuthRowsByEmail(username);
+        if (rows.isEmpty()) {
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }
+        UserAuthRow u = rows.get(0);
+        // The row was just read, so tokens minted from it (login) verify here without another lookup.
+        authVersionRegistry.advance(u.getEmail(), u.getAuthVersion());
+        List<Integer> roleIds = rows.stream().map(UserAuthRow::getRoleId).filter(Objects::nonNull).toList();
+        return AuthUserDetails.of(u.getId(), u.getEmail(), u.getPassword(), u.getEnabled(), u.getAuthVersion(),
+                roleIds, roleAuthorityIndex);
     }
 
 }
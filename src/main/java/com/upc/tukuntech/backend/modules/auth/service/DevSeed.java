@@ -12,6 +12,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Set;
 
@@ -27,6 +28,7 @@ public class DevSeed implements CommandLineRunner {
     private final PasswordEncoder encoder;
 
     @Override
+    @Transactional
     public void run(String... args) {
         var admin = roleRepository.findByName("ADMINISTRATOR").orElseGet(() -> {
             var r = new RoleEntity(); r.setName("ADMINISTRATOR"); return roleRepository.save(r);
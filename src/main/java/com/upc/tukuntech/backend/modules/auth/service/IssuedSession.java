@@ -0,0 +1,8 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import java.util.UUID;
+
+public record IssuedSession(
+        UUID sessionId,
+        String refreshToken
+) {}
@@ -1,71 +1,105 @@
 package com.upc.tukuntech.backend.modules.auth.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.upc.tukuntech.backend.config.JwtProperties;
-import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
+import com.upc.tukuntech.backend.modules.auth.util.AuthorityBits;
+import com.upc.tukuntech.backend.modules.auth.util.CryptoUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class JwtService {
+    public static final String ROLE_BITS_CLAIM = "rb";
+    public static final String AUTH_VERSION_CLAIM = "ver";
+    public static final String SESSION_ID_CLAIM = "sid";
+
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
 
     private final JwtProperties props;
     private final Key signingKey;
+    private final JwtParser parser;
+    private final CompactTokenCodec compactCodec;
+    private final JwtTemplate template;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
     public JwtService(JwtProperties props) {
         this.props = props;
         byte[] keyBytes = Decoders.BASE64.decode(props.getSecret());
         this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .requireIssuer(props.getIssuer())
+                .setAllowedClockSkewSeconds(CLOCK_SKEW.toSeconds())
+                .build();
+        this.template = new JwtTemplate(signingKey, props.getIssuer());
+        this.compactCodec = new CompactTokenCodec(signingKey, props.getIssuer(), props.getMaxCompactTokenLength(), CLOCK_SKEW);
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(props.getVerifiedTokenCacheSize())
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
-    public String generateAccessToken(UserEntity user) {
+    public String generateAccessToken(AuthUserDetails user, UUID sessionId) {
         Instant now = Instant.now();
         Instant expiry = now.plus(props.getAccessTokenExpiration());
 
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("uid", user.getId());
-        claims.put("email", user.getEmail());
-        claims.put("roles", user.getRoles().stream().map(r -> r.getName()).toList());
-
-        return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(user.getEmail())
-                .setIssuer(props.getIssuer())
-                .setIssuedAt(Date.from(now))
-                .setExpiration(Date.from(expiry))
-                .signWith(signingKey, SignatureAlgorithm.HS256)
-                .compact();
+        if (props.getTokenFormat() == JwtProperties.TokenFormat.COMPACT) {
+            return compactCodec.encode(user.getId(), user.getUsername(), user.getAuthVersion(), sessionId,
+                    AuthorityBits.ofRoles(user.getRoleIds()), now, expiry);
+        }
+
+        return template.mint(user, sessionId, now, expiry);
+    }
+
+    public VerifiedToken verify(String token) {
+        // Compact tokens verify with one HMAC over a few hundred bytes; caching would cost as much.
+        if (CompactTokenCodec.isCompact(token)) return compactCodec.decode(token);
+
+        String key = CryptoUtils.sha256Hex(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) return cached;
+
+        VerifiedToken verified = toVerifiedToken(parser.parseClaimsJws(token).getBody());
+        if (verified.expiresAt() != null) verifiedTokens.put(key, verified);
+        return verified;
     }
 
     public String getEmailFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .requireIssuer(props.getIssuer())
-                .setAllowedClockSkewSeconds(60)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return verify(token).subject();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(signingKey)
-                    .requireIssuer(props.getIssuer())
-                    .setAllowedClockSkewSeconds(60)
-                    .build()
-                    .parseClaimsJws(token);
+            verify(token);
             return true;
-        } catch (io.jsonwebtoken.JwtException e) {
+        } catch (JwtException e) {
             return false;
         }
     }
@@ -73,4 +107,21 @@ public class JwtService {
     public long getAccessTtlSeconds() {
         return props.getAccessTokenExpiration().toSeconds();
     }
+
+    public boolean isStatelessAuthentication() {
+        return props.isStatelessAuthentication();
+    }
+
+    private static VerifiedToken toVerifiedToken(Claims claims) {
+        String roleBits = claims.get(ROLE_BITS_CLAIM, String.class);
+        String sessionId = claims.get(SESSION_ID_CLAIM, String.class);
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("uid", Long.class),
+                sessionId == null ? null : UUID.fromString(sessionId),
+                roleBits == null ? null : AuthorityBits.decode(roleBits).roleIds(),
+                claims.get(AUTH_VERSION_CLAIM, Long.class),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant()
+        );
+    }
 }
@@ -0,0 +1,240 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.upc.tukuntech.backend.modules.auth.util.AuthorityBits;
+import com.upc.tukuntech.backend.modules.auth.util.InstancePool;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+// Mints the same HS256 JWTs as Jwts.builder() without building a claims map or going through
+// Jackson: the header segment and issuer are encoded once, the roles/rb fragment is cached per
+// role set, and the payload is written, base64url-encoded and signed inside pooled buffers.
+class JwtTemplate {
+    private static final byte[] BASE64_URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAC_BYTES = 32;
+
+    private record RoleSet(Set<Integer> roleIds, Set<String> roleNames) {}
+
+    private final byte[] headerSegment;
+    private final byte[] issuerFragment;
+    private final InstancePool<Buffers> buffers;
+    private final Cache<RoleSet, byte[]> roleFragments = Caffeine.newBuilder().maximumSize(1_000).build();
+
+    JwtTemplate(Key signingKey, String issuer) {
+        SecretKeySpec key = new SecretKeySpec(signingKey.getEncoded(), "HmacSHA256");
+        this.buffers = new InstancePool<>(() -> new Buffers(key));
+        Buffers scratch = new Buffers(null);
+        scratch.ascii("{\"alg\":\"HS256\"}");
+        this.headerSegment = Arrays.copyOf(scratch.out, scratch.appendBase64(scratch.json, 0, scratch.jsonLength, 0));
+        scratch.reset();
+        scratch.ascii(",\"iss\":");
+        scratch.string(issuer);
+        this.issuerFragment = Arrays.copyOf(scratch.json, scratch.jsonLength);
+    }
+
+    String mint(AuthUserDetails user, UUID sessionId, Instant issuedAt, Instant expiresAt) {
+        byte[] roles = roleFragments.get(new RoleSet(user.getRoleIds(), user.getRoles()), JwtTemplate::roleFragment);
+        Buffers b = buffers.acquire();
+        try {
+            b.reset();
+            b.ascii("{\"uid\":");
+            b.number(user.getId());
+            b.ascii(",\"email\":");
+            b.string(user.getUsername());
+            b.append(roles, 0, roles.length);
+            b.ascii(",\"ver\":");
+            b.number(user.getAuthVersion());
+            b.ascii(",\"sid\":\"");
+            b.uuid(sessionId);
+            b.ascii("\",\"sub\":");
+            b.string(user.getUsername());
+            b.append(issuerFragment, 0, issuerFragment.length);
+            b.ascii(",\"iat\":");
+            b.number(issuedAt.getEpochSecond());
+            b.ascii(",\"exp\":");
+            b.number(expiresAt.getEpochSecond());
+            b.ascii("}");
+            return b.sign(headerSegment);
+        } finally {
+            buffers.release(b);
+        }
+    }
+
+    private static byte[] roleFragment(RoleSet roleSet) {
+        Buffers b = new Buffers(null);
+        b.ascii(",\"roles\":[");
+        boolean first = true;
+        for (String name : new TreeSet<>(roleSet.roleNames())) {
+            if (!first) b.ascii(",");
+            b.string(name);
+            first = false;
+        }
+        b.ascii("],\"" + JwtService.ROLE_BITS_CLAIM + "\":");
+        b.string(AuthorityBits.ofRoles(roleSet.roleIds()).encode());
+        return Arrays.copyOf(b.json, b.jsonLength);
+    }
+
+    private static final class Buffers {
+        private final Mac mac;
+        private byte[] json = new byte[512];
+        private int jsonLength;
+        private byte[] out = new byte[1024];
+
+        Buffers(SecretKeySpec key) {
+            this.mac = key == null ? null : newMac(key);
+        }
+
+        void reset() {
+            jsonLength = 0;
+        }
+
+        void append(byte[] src, int offset, int length) {
+            ensureJson(length);
+            System.arraycopy(src, offset, json, jsonLength, length);
+            jsonLength += length;
+        }
+
+        void ascii(String s) {
+            ensureJson(s.length());
+            for (int i = 0; i < s.length(); i++) json[jsonLength++] = (byte) s.charAt(i);
+        }
+
+        void number(long value) {
+            ascii(Long.toString(value));
+        }
+
+        void uuid(UUID id) {
+            ensureJson(36);
+            long msb = id.getMostSignificantBits();
+            long lsb = id.getLeastSignificantBits();
+            hex(msb >>> 32, 8);
+            json[jsonLength++] = '-';
+            hex(msb >>> 16, 4);
+            json[jsonLength++] = '-';
+            hex(msb, 4);
+            json[jsonLength++] = '-';
+            hex(lsb >>> 48, 4);
+            json[jsonLength++] = '-';
+            hex(lsb, 12);
+        }
+
+        private void hex(long value, int digits) {
+            for (int i = digits - 1; i >= 0; i--) {
+                json[jsonLength + i] = HEX[(int) (value & 0xF)];
+                value >>>= 4;
+            }
+            jsonLength += digits;
+        }
+
+        // JSON string with the escapes Jackson would emit; non-ASCII is written as UTF-8.
+        void string(String s) {
+            ensureJson(2);
+            json[jsonLength++] = '"';
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == '"' || c == '\\') {
+                    ensureJson(2);
+                    json[jsonLength++] = '\\';
+                    json[jsonLength++] = (byte) c;
+                } else if (c < 0x20) {
+                    ensureJson(6);
+                    json[jsonLength++] = '\\';
+                    json[jsonLength++] = 'u';
+                    json[jsonLength++] = '0';
+                    json[jsonLength++] = '0';
+                    json[jsonLength++] = HEX[c >> 4];
+                    json[jsonLength++] = HEX[c & 0xF];
+                } else if (c < 0x80) {
+                    ensureJson(1);
+                    json[jsonLength++] = (byte) c;
+                } else {
+                    int end = i + 1;
+                    while (end < s.length() && s.charAt(end) >= 0x80) end++;
+                    byte[] utf8 = s.substring(i, end).getBytes(StandardCharsets.UTF_8);
+                    append(utf8, 0, utf8.length);
+                    i = end - 1;
+                }
+            }
+            ensureJson(1);
+            json[jsonLength++] = '"';
+        }
+
+        String sign(byte[] headerSegment) {
+            int payloadChars = (jsonLength * 4 + 2) / 3;
+            ensureOut(headerSegment.length + 1 + payloadChars + 1 + 43);
+            System.arraycopy(headerSegment, 0, out, 0, headerSegment.length);
+            int pos = headerSegment.length;
+            out[pos++] = '.';
+            pos = appendBase64(json, 0, jsonLength, pos);
+
+            mac.update(out, 0, pos);
+            // The JSON is already encoded, so its buffer is reused for the 32-byte MAC.
+            jsonLength = 0;
+            ensureJson(MAC_BYTES);
+            try {
+                mac.doFinal(json, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+            out[pos++] = '.';
+            pos = appendBase64(json, 0, MAC_BYTES, pos);
+            return new String(out, 0, pos, StandardCharsets.ISO_8859_1);
+        }
+
+        int appendBase64(byte[] src, int offset, int length, int pos) {
+            ensureOut(pos + (length * 4 + 2) / 3);
+            int end = offset + length;
+            int i = offset;
+            for (; i + 2 < end; i += 3) {
+                int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+                out[pos++] = BASE64_URL[bits >>> 18];
+                out[pos++] = BASE64_URL[(bits >>> 12) & 0x3F];
+                out[pos++] = BASE64_URL[(bits >>> 6) & 0x3F];
+                out[pos++] = BASE64_URL[bits & 0x3F];
+            }
+            int remaining = end - i;
+            if (remaining == 1) {
+                int bits = (src[i] & 0xFF) << 16;
+                out[pos++] = BASE64_URL[bits >>> 18];
+                out[pos++] = BASE64_URL[(bits >>> 12) & 0x3F];
+            } else if (remaining == 2) {
+                int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8;
+                out[pos++] = BASE64_URL[bits >>> 18];
+                out[pos++] = BASE64_URL[(bits >>> 12) & 0x3F];
+                out[pos++] = BASE64_URL[(bits >>> 6) & 0x3F];
+            }
+            return pos;
+        }
+
+        private void ensureJson(int extra) {
+            if (jsonLength + extra > json.length) json = Arrays.copyOf(json, Math.max(json.length * 2, jsonLength + extra));
+        }
+
+        private void ensureOut(int size) {
+            if (size > out.length) out = Arrays.copyOf(out, Math.max(out.length * 2, size));
+        }
+
+        private static Mac newMac(SecretKeySpec key) {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 not available", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
+
+import java.util.UUID;
+
+public record RefreshedSession(
+        UserEntity user,
+        UUID sessionId,
+        String refreshToken
+) {}
@@ -0,0 +1,39 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.modules.auth.entity.PermissionEntity;
+import com.upc.tukuntech.backend.modules.auth.entity.RoleEntity;
+import com.upc.tukuntech.backend.modules.auth.util.AuthorityBits;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RoleAuthChangeListener {
+    private final RoleAuthorityIndex roleAuthorityIndex;
+    private final CustomUserDetailsService userDetailsService;
+
+    public RoleAuthChangeListener(@Lazy RoleAuthorityIndex roleAuthorityIndex, @Lazy CustomUserDetailsService userDetailsService) {
+        this.roleAuthorityIndex = roleAuthorityIndex;
+        this.userDetailsService = userDetailsService;
+    }
+
+    // The id is assigned by the insert; throwing here rolls the insert back.
+    @PostPersist
+    void onCreate(Object entity) {
+        long id = entity instanceof RoleEntity r ? r.getId() : ((PermissionEntity) entity).getId();
+        if (!RoleAuthorityIndex.hasBit(id)) {
+            throw new IllegalStateException(entity.getClass().getSimpleName() + " id " + id
+                    + " has no authority bit; ids must be between 1 and " + AuthorityBits.MAX_ID);
+        }
+        onChange(entity);
+    }
+
+    @PostUpdate
+    @PostRemove
+    void onChange(Object entity) {
+        roleAuthorityIndex.markStale();
+        userDetailsService.evictAll();
+    }
+}
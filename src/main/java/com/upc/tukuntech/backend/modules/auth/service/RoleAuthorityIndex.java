@@ -0,0 +1,200 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.modules.auth.entity.PermissionEntity;
+import com.upc.tukuntech.backend.modules.auth.entity.RoleEntity;
+import com.upc.tukuntech.backend.modules.auth.repository.RoleRepository;
+import com.upc.tukuntech.backend.modules.auth.util.AuthorityBits;
+import com.upc.tukuntech.backend.modules.auth.util.UserAuthorities;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Immutable role -> authorities snapshot. Users only carry role ids; ROLE_/PERM_ names and
+// authority bits are resolved here, so user loads never touch roles or permissions. Any role or permission write
+// marks the snapshot stale and the next read swaps in a freshly loaded one.
+@Slf4j
+@Component
+public class RoleAuthorityIndex {
+    public record Role(int id, String name, List<String> authorities, AuthorityBits bits) {}
+
+    public record Resolved(Set<String> roleNames, List<GrantedAuthority> authorities, AuthorityBits bits) {}
+
+    private record Snapshot(long version, Map<Integer, Role> roles, Map<String, Integer> bitsByAuthority,
+                            Map<Set<Integer>, Resolved> resolved) {}
+
+    private final RoleRepository roleRepository;
+    private final TransactionTemplate tx;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(0, Map.of(), Map.of(), Map.of()));
+    // Not a monitor: reloads query the database, and a virtual thread blocking inside synchronized pins its carrier.
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile boolean stale = true;
+
+    public RoleAuthorityIndex(RoleRepository roleRepository, PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.roleRepository = roleRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setReadOnly(true);
+        Gauge.builder("auth.role_index.version", snapshot, s -> s.get().version())
+                .description("Version of the role authority index currently in use")
+                .register(meterRegistry);
+        Gauge.builder("auth.role_index.roles", snapshot, s -> s.get().roles().size())
+                .register(meterRegistry);
+    }
+
+    public Resolved resolve(Collection<Integer> roleIds) {
+        Snapshot current = current();
+        // Users share a handful of role combinations, so resolved sets are memoized per snapshot.
+        return current.resolved().computeIfAbsent(Set.copyOf(roleIds), ids -> build(current, ids));
+    }
+
+    // Id of the role with this name (case-insensitive), or null if there is none.
+    public Integer roleId(String name) {
+        for (Role role : current().roles().values()) {
+            if (role.name().equalsIgnoreCase(name)) return role.id();
+        }
+        return null;
+    }
+
+    // Bit of a ROLE_/PERM_ authority name, or -1 if no role grants it.
+    public int bitOf(String authority) {
+        return current().bitsByAuthority().getOrDefault(authority, -1);
+    }
+
+    public long version() {
+        return snapshot.get().version();
+    }
+
+    public void markStale() {
+        stale = true;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A reload may have run inside the writing transaction; read again once it has ended.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    stale = true;
+                }
+            });
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        current();
+    }
+
+    // Picks up role changes made by other nodes.
+    @Scheduled(initialDelayString = "${app.security.role-index.refresh-interval:PT5M}",
+            fixedDelayString = "${app.security.role-index.refresh-interval:PT5M}")
+    public void refresh() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh role authority index, keeping version {}", version(), e);
+        }
+    }
+
+    public void reload() {
+        reloadLock.lock();
+        try {
+            stale = false;
+            Snapshot next;
+            try {
+                next = tx.execute(status -> load(snapshot.get().version() + 1));
+            } catch (RuntimeException e) {
+                stale = true;
+                throw e;
+            }
+            snapshot.set(next);
+            log.debug("Role authority index version {} loaded with {} roles", next.version(), next.roles().size());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Snapshot current() {
+        if (stale) {
+            reloadLock.lock();
+            try {
+                if (stale) reload();
+            } finally {
+                reloadLock.unlock();
+            }
+        }
+        return snapshot.get();
+    }
+
+    private Snapshot load(long version) {
+        Map<Integer, Role> roles = new HashMap<>();
+        Map<String, Integer> bits = new HashMap<>();
+        Set<String> skipped = new TreeSet<>();
+        for (RoleEntity r : roleRepository.findAllWithPermissions()) {
+            if (!hasBit(r.getId())) {
+                skipped.add("role " + r.getName() + " (id " + r.getId() + ")");
+                continue;
+            }
+            AuthorityBits.Builder roleBits = AuthorityBits.builder().set(AuthorityBits.roleBit(r.getId()));
+            bits.put(UserAuthorities.ROLE_PREFIX + r.getName(), AuthorityBits.roleBit(r.getId()));
+            Set<String> authorities = UserAuthorities.of(r);
+            for (PermissionEntity p : r.getPermissions()) {
+                if (!hasBit(p.getId())) {
+                    skipped.add("permission " + p.getName() + " (id " + p.getId() + ")");
+                    authorities.remove(UserAuthorities.PERMISSION_PREFIX + p.getName());
+                    continue;
+                }
+                roleBits.set(AuthorityBits.permissionBit(p.getId()));
+                bits.put(UserAuthorities.PERMISSION_PREFIX + p.getName(), AuthorityBits.permissionBit(p.getId()));
+            }
+            roles.put(r.getId(), new Role(r.getId(), r.getName(), List.copyOf(authorities), roleBits.build()));
+        }
+        if (!skipped.isEmpty()) {
+            // Withheld rather than failing the load: one bad row must not stop every authentication.
+            log.error("Role authority index version {} withholds {}; authority bits only cover ids 1 to {}",
+                    version, skipped, AuthorityBits.MAX_ID);
+        }
+        return new Snapshot(version, Map.copyOf(roles), Map.copyOf(bits), new ConcurrentHashMap<>());
+    }
+
+    // Bit positions derive from ids, so an out-of-range id would inflate every bitset and token built from it.
+    static boolean hasBit(long id) {
+        return id >= 1 && id <= AuthorityBits.MAX_ID;
+    }
+
+    private static Resolved build(Snapshot snapshot, Set<Integer> roleIds) {
+        Set<String> names = new TreeSet<>();
+        Set<String> authorities = new LinkedHashSet<>();
+        AuthorityBits.Builder bits = AuthorityBits.builder();
+        for (Integer id : new TreeSet<>(roleIds)) {
+            Role role = snapshot.roles().get(id);
+            if (role == null) continue;
+            names.add(role.name());
+            authorities.addAll(role.authorities());
+            bits.or(role.bits());
+        }
+        return new Resolved(
+                Set.copyOf(names),
+                authorities.stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList(),
+                bits.build()
+        );
+    }
+}
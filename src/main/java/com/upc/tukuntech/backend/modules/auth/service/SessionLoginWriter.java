@@ -0,0 +1,237 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.config.JwtProperties;
+import com.upc.tukuntech.backend.config.SessionWritesProperties;
+import com.upc.tukuntech.backend.modules.auth.entity.SessionEntity;
+import com.upc.tukuntech.backend.modules.auth.repository.SessionRepository;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
+import com.upc.tukuntech.backend.shared.persistence.SqlTracker;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Group-commits new sessions: concurrent logins are coalesced into one transaction with a
+// single revoke UPDATE and a JDBC-batched INSERT. Callers still block until their row is
+// committed, so a returned refresh token is always durable.
+@Slf4j
+@Component
+public class SessionLoginWriter implements SmartLifecycle {
+    private record PendingLogin(SessionEntity session, CompletableFuture<Void> done) {}
+
+    private final SessionRepository sessionRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate tx;
+    private final JwtProperties jwtProperties;
+    private final SessionWritesProperties props;
+    private final BlockingQueue<PendingLogin> queue;
+    private final DistributionSummary batchSizes;
+    private final DistributionSummary batchStatements;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public SessionLoginWriter(SessionRepository sessionRepository, UserRepository userRepository,
+                              TransactionTemplate tx, JwtProperties jwtProperties,
+                              SessionWritesProperties props, MeterRegistry meterRegistry) {
+        this.sessionRepository = sessionRepository;
+        this.userRepository = userRepository;
+        this.tx = tx;
+        this.jwtProperties = jwtProperties;
+        this.props = props;
+        this.queue = new ArrayBlockingQueue<>(props.getQueueCapacity());
+        this.batchSizes = DistributionSummary.builder("auth.session_writes.batch")
+                .description("New sessions committed per write-behind transaction")
+                .register(meterRegistry);
+        // Request SQL budgets only see the request thread, so the flusher's statements are reported here.
+        this.batchStatements = DistributionSummary.builder("db.session_writes.statements")
+                .description("SQL statements prepared per write-behind batch, retries included")
+                .register(meterRegistry);
+    }
+
+    public void write(SessionEntity session) {
+        PendingLogin pending = new PendingLogin(session, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            // Durable fallback: no flusher or queue full, commit on the caller's thread.
+            persistNow(List.of(session));
+            return;
+        }
+        // stop() may have landed between the check and the offer, after the flusher's last look at the queue.
+        // Whoever removes the entry owns it: if it is still queued here, nobody else will commit it.
+        if (!running && queue.remove(pending)) {
+            persistNow(List.of(session));
+            return;
+        }
+        try {
+            pending.done().get(props.getFlushTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            // The flusher hit an Error and its transaction rolled back: commit the row here instead.
+            session.markNew();
+            persistNow(List.of(session));
+        } catch (TimeoutException e) {
+            // Stalled or dead flusher. A row it never took is ours to commit; one it holds may still land.
+            if (queue.remove(pending)) {
+                persistNow(List.of(session));
+                return;
+            }
+            throw new IllegalStateException("Timed out waiting for the session write", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the session write", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!props.isWriteBehind()) return;
+        running = true;
+        flusher = new Thread(this::flushLoop, "session-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher == null) return;
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flusher = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void flushLoop() {
+        List<PendingLogin> batch = new ArrayList<>(props.getBatchSize());
+        long maxDelayNanos = props.getMaxDelay().toNanos();
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingLogin first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < props.getBatchSize()) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    PendingLogin next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    flush(batch);
+                } catch (Throwable t) {
+                    // An Error must not kill the flusher or strand its callers; they fall back to committing themselves.
+                    log.error("Session batch of {} failed", batch.size(), t);
+                    batch.forEach(p -> p.done().completeExceptionally(t));
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingLogin> batch) {
+        batchSizes.record(batch.size());
+        SqlTracker.Scope scope = SqlTracker.open();
+        try {
+            flushTracked(batch);
+        } finally {
+            scope.close();
+            batchStatements.record(scope.stats().getStatements());
+        }
+    }
+
+    private void flushTracked(List<PendingLogin> batch) {
+        try {
+            persistNow(batch.stream().map(PendingLogin::session).toList());
+            batch.forEach(p -> p.done().complete(null));
+        } catch (RuntimeException batchFailure) {
+            log.warn("Session batch of {} failed, retrying rows individually", batch.size(), batchFailure);
+            for (PendingLogin p : batch) {
+                try {
+                    // Without this the retry would merge (SELECT, then INSERT) the row the failed persist flagged as stored.
+                    p.session().markNew();
+                    persistNow(List.of(p.session()));
+                    p.done().complete(null);
+                } catch (RuntimeException e) {
+                    p.done().completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private void persistNow(List<SessionEntity> sessions) {
+        tx.executeWithoutResult(status -> persist(sessions));
+    }
+
+    private void persist(List<SessionEntity> sessions) {
+        Map<Long, List<SessionEntity>> byUser = new TreeMap<>();
+        sessions.forEach(s -> {
+            Long userId = s.getUser().getId();
+            s.setUser(userRepository.getReferenceById(userId));
+            byUser.computeIfAbsent(userId, k -> new ArrayList<>()).add(s);
+        });
+
+        // Row locks on the users, taken in id order, serialize logins of the same account across nodes.
+        userRepository.lockAllById(byUser.keySet());
+
+        Instant now = Instant.now();
+        enforceSessionCap(byUser, now);
+        sessionRepository.saveAll(sessions);
+    }
+
+    private void enforceSessionCap(Map<Long, List<SessionEntity>> incomingByUser, Instant now) {
+        int max = jwtProperties.getMaximumSessions();
+        if (max <= 0) return;
+
+        List<UUID> keep = new ArrayList<>();
+        incomingByUser.forEach((userId, incoming) -> {
+            int overflow = incoming.size() - max;
+            if (overflow > 0) {
+                incoming.sort(Comparator.comparing(SessionEntity::getCreatedAt));
+                incoming.subList(0, overflow).forEach(s -> {
+                    s.setActive(false);
+                    s.setRevokedAt(now);
+                });
+            }
+            int keepExisting = max - incoming.size();
+            if (keepExisting > 0) {
+                keep.addAll(sessionRepository.findActiveIdsNewestFirst(userId, PageRequest.of(0, keepExisting)));
+            }
+        });
+
+        if (keep.isEmpty()) {
+            sessionRepository.revokeAllActive(incomingByUser.keySet(), now);
+        } else {
+            sessionRepository.revokeActiveExcept(incomingByUser.keySet(), keep, now);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.config.JwtProperties;
+import com.upc.tukuntech.backend.config.SessionRevocationProperties;
+import com.upc.tukuntech.backend.modules.auth.repository.SessionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Revoked session ids whose access tokens may still be alive. Entries only need to outlive the
+// access-token TTL, so the set stays small; every node rebuilds it by polling sessions.revoked_at.
+@Slf4j
+@Component
+public class SessionRevocationIndex {
+    private final SessionRepository sessionRepository;
+    private final JwtProperties jwtProperties;
+    private final SessionRevocationProperties props;
+    private final Map<UUID, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile Instant watermark;
+
+    public SessionRevocationIndex(SessionRepository sessionRepository, JwtProperties jwtProperties,
+                                  SessionRevocationProperties props, MeterRegistry meterRegistry) {
+        this.sessionRepository = sessionRepository;
+        this.jwtProperties = jwtProperties;
+        this.props = props;
+        this.watermark = Instant.now().minus(jwtProperties.getAccessTokenExpiration());
+        Gauge.builder("auth.session_revocations.size", revoked, Map::size)
+                .description("Revoked sessions tracked while their access tokens can still be presented")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(UUID sessionId) {
+        return sessionId != null && revoked.containsKey(sessionId);
+    }
+
+    public void markRevoked(UUID sessionId, Instant revokedAt) {
+        revoked.put(sessionId, revokedAt);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.session-revocation.poll-interval:PT2S}")
+    public void poll() {
+        Instant since = watermark.minus(props.getOverlap());
+        Instant latest = watermark;
+        try {
+            for (SessionRepository.RevokedSessionView s : sessionRepository.findRevokedSince(since)) {
+                revoked.put(s.getId(), s.getRevokedAt());
+                if (s.getRevokedAt().isAfter(latest)) latest = s.getRevokedAt();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh session revocations", e);
+            return;
+        }
+        watermark = latest;
+
+        Instant horizon = Instant.now().minus(jwtProperties.getAccessTokenExpiration());
+        revoked.values().removeIf(revokedAt -> revokedAt.isBefore(horizon));
+    }
+}
@@ -2,45 +2,43 @@ package com.upc.tukuntech.backend.modules.auth.service;
 
 import com.upc.tukuntech.backend.config.JwtProperties;
 import com.upc.tukuntech.backend.modules.auth.entity.SessionEntity;
-import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
 import com.upc.tukuntech.backend.modules.auth.repository.SessionRepository;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
 import com.upc.tukuntech.backend.modules.auth.util.CryptoUtils;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
 import java.util.List;
-import java.util.UUID;
 
 @Service
 public class SessionService {
     private final SessionRepository sessionRepository;
+    private final UserRepository userRepository;
+    private final SessionLoginWriter sessionLoginWriter;
+    private final SessionRevocationIndex revocationIndex;
     private final JwtProperties jwtProperties;
 
-    public SessionService(SessionRepository sessionRepository, JwtProperties jwtProperties) {
+    public SessionService(SessionRepository sessionRepository, UserRepository userRepository,
+                          SessionLoginWriter sessionLoginWriter, SessionRevocationIndex revocationIndex,
+                          JwtProperties jwtProperties) {
         this.sessionRepository = sessionRepository;
+        this.userRepository = userRepository;
+        this.sessionLoginWriter = sessionLoginWriter;
+        this.revocationIndex = revocationIndex;
         this.jwtProperties = jwtProperties;
     }
 
-    @Transactional
-    public String registerLogin(UserEntity user, String ip, String userAgent, Instant accessExpAt){
-        List<SessionEntity> active = sessionRepository.findByUserAndActiveTrue(user);
-        int max = jwtProperties.getMaximumSessions();
-        if (active.size() >= max) {
-            SessionEntity oldest = active.get(0);
-            oldest.setActive(false);
-            oldest.setRevokedAt(Instant.now());
-            sessionRepository.save(oldest);
-        }
-
+    public IssuedSession registerLogin(Long userId, String ip, String userAgent, Instant accessExpAt){
         String refreshToken = CryptoUtils.randomToken(32);
         String refreshHash = CryptoUtils.sha256Hex(refreshToken);
         Instant now = Instant.now();
         Instant refreshExpAt = now.plus(jwtProperties.getRefreshTokenExpiration());
 
         SessionEntity s = new SessionEntity();
-        s.setId(UUID.randomUUID());
-        s.setUser(user);
+        s.setUser(userRepository.getReferenceById(userId));
         s.setActive(true);
         s.setCreatedAt(now);
         s.setUpdatedAt(now);
@@ -50,9 +48,49 @@ public class SessionService {
         s.setRefreshExpiresAt(refreshExpAt);
         s.setRefreshTokenHash(refreshHash);
 
-        sessionRepository.save(s);
-        return refreshToken;
+        sessionLoginWriter.write(s);
+        return new IssuedSession(s.getId(), refreshToken);
+    }
+
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public RefreshedSession rotate(String presentedToken, String ip, String userAgent, Instant accessExpAt) {
+        String presentedHash = CryptoUtils.sha256Hex(presentedToken);
+        Instant now = Instant.now();
+
+        // User row first, then the session: the same order logins lock in, so a concurrent login and refresh of
+        // one account cannot deadlock. The unlocked lookup only finds whose row to lock; the session is re-read
+        // under the lock and treated as rotated-out if its hash changed in between.
+        sessionRepository.findUserIdByRefreshTokenHash(presentedHash)
+                .ifPresent(userId -> userRepository.lockAllById(List.of(userId)));
+        SessionEntity s = sessionRepository.findForRotation(presentedHash).orElse(null);
+        if (s == null) {
+            // A rotated-out token coming back means it leaked: kill the whole session.
+            sessionRepository.findByPreviousRefreshTokenHash(presentedHash)
+                    .filter(SessionEntity::getActive)
+                    .ifPresent(reused -> revoke(reused, now));
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+        }
+        if (!s.getActive() || !s.getRefreshExpiresAt().isAfter(now)) {
+            if (s.getActive()) revoke(s, now);
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+        }
+        // Checked before the hash is replaced, so a disabled user's refresh token is not consumed.
+        if (!s.getUser().getEnabled()) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "User is disabled");
+        }
 
+        String refreshToken = CryptoUtils.randomToken(32);
+        s.setPreviousRefreshTokenHash(presentedHash);
+        s.setRefreshTokenHash(CryptoUtils.sha256Hex(refreshToken));
+        s.setAccessExpiresAt(accessExpAt);
+        s.setIp(ip);
+        s.setUserAgent(userAgent);
+        return new RefreshedSession(s.getUser(), s.getId(), refreshToken);
+    }
 
+    private void revoke(SessionEntity s, Instant now) {
+        s.setActive(false);
+        s.setRevokedAt(now);
+        revocationIndex.markRevoked(s.getId(), now);
     }
 }
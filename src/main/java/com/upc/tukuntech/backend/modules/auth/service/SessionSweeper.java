@@ -0,0 +1,89 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.config.SessionSweeperProperties;
+import com.upc.tukuntech.backend.modules.auth.repository.SessionRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "app.security.session-sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class SessionSweeper {
+    private static final UUID LOWEST_ID = new UUID(0L, 0L);
+
+    private final SessionRepository sessionRepository;
+    private final TransactionTemplate tx;
+    private final SessionSweeperProperties props;
+    private final Timer runTimer;
+    private final DistributionSummary purgedPerRun;
+
+    public SessionSweeper(SessionRepository sessionRepository, TransactionTemplate tx,
+                          SessionSweeperProperties props, MeterRegistry meterRegistry) {
+        this.sessionRepository = sessionRepository;
+        this.tx = tx;
+        this.props = props;
+        this.runTimer = Timer.builder("auth.session_sweeper.run")
+                .description("Duration of a full sweep over the sessions table")
+                .register(meterRegistry);
+        this.purgedPerRun = DistributionSummary.builder("auth.session_sweeper.purged")
+                .description("Expired or revoked session rows deleted per sweep")
+                .baseUnit("rows")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.security.session-sweeper.interval:PT1H}",
+            fixedDelayString = "${app.security.session-sweeper.interval:PT1H}"
+    )
+    public void sweep() {
+        long start = System.nanoTime();
+        long purged = purge();
+        runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        purgedPerRun.record(purged);
+        if (purged > 0) log.info("Session sweeper purged {} rows", purged);
+    }
+
+    long purge() {
+        Instant cutoff = Instant.now().minus(props.getRetention());
+        PageRequest batch = PageRequest.of(0, props.getBatchSize());
+        UUID after = LOWEST_ID;
+        long purged = 0;
+
+        while (true) {
+            UUID from = after;
+            List<UUID> ids = tx.execute(status -> {
+                List<UUID> page = sessionRepository.findPurgeableIdsAfter(from, cutoff, batch);
+                if (!page.isEmpty()) sessionRepository.deleteByIdIn(page);
+                return page;
+            });
+            if (ids == null || ids.isEmpty()) return purged;
+
+            purged += ids.size();
+            after = ids.get(ids.size() - 1);
+            if (ids.size() < props.getBatchSize()) return purged;
+            if (!pause()) return purged;
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(props.getPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class UserAuthChangeListener {
+    private final AuthVersionRegistry authVersionRegistry;
+    private final CustomUserDetailsService userDetailsService;
+
+    public UserAuthChangeListener(AuthVersionRegistry authVersionRegistry, @Lazy CustomUserDetailsService userDetailsService) {
+        this.authVersionRegistry = authVersionRegistry;
+        this.userDetailsService = userDetailsService;
+    }
+
+    @PostUpdate
+    void onUpdate(UserEntity user) {
+        String email = user.getEmail();
+        long version = user.getAuthVersion();
+        changed(email, () -> authVersionRegistry.advance(email, version));
+    }
+
+    @PostRemove
+    void onRemove(UserEntity user) {
+        String email = user.getEmail();
+        changed(email, () -> authVersionRegistry.forget(email));
+    }
+
+    private void changed(String email, Runnable onCommit) {
+        userDetailsService.evict(email);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+        // This runs at flush: a load between here and the commit still reads the old row, so evict again once
+        // the transaction has ended. The new version only counts if it commits.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) onCommit.run();
+                userDetailsService.evict(email);
+            }
+        });
+    }
+}
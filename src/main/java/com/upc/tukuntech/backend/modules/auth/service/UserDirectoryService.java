@@ -0,0 +1,134 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.modules.auth.dto.AdminSessionSummary;
+import com.upc.tukuntech.backend.modules.auth.dto.AdminUserSummary;
+import com.upc.tukuntech.backend.modules.auth.repository.SessionRepository;
+import com.upc.tukuntech.backend.modules.auth.repository.SessionRepository.AdminSessionRow;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository.AdminUserRow;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository.UserRoleRow;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Admin listings over column projections in keyset order. Each chunk is one index seek from the last key
+// returned, so deep pages cost the same as the first, and rows reach the caller a chunk at a time.
+// No transaction spans a page: a chunk holds a connection only for its own query, never while the client reads.
+@Service
+public class UserDirectoryService {
+    public static final int MAX_PAGE_SIZE = 500;
+    static final int CHUNK_SIZE = 100;
+
+    private static final SessionKey FIRST_SESSION = new SessionKey(Instant.parse("9999-12-31T23:59:59Z"), new UUID(-1L, -1L));
+
+    private record SessionKey(Instant createdAt, UUID id) {}
+
+    private final UserRepository userRepository;
+    private final SessionRepository sessionRepository;
+    private final RoleAuthorityIndex roleIndex;
+
+    public UserDirectoryService(UserRepository userRepository, SessionRepository sessionRepository,
+                                RoleAuthorityIndex roleIndex) {
+        this.userRepository = userRepository;
+        this.sessionRepository = sessionRepository;
+        this.roleIndex = roleIndex;
+    }
+
+    // Users with an id above after, in id order. Returns the id to continue from, or null on the last page.
+    public Long listUsers(String role, Boolean enabled, long after, int limit, Consumer<List<AdminUserSummary>> sink) {
+        checkLimit(limit);
+        Integer roleId = null;
+        if (role != null && !role.isBlank()) {
+            roleId = roleIndex.roleId(role.trim());
+            if (roleId == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown role " + role.trim());
+        }
+        Integer filterRole = roleId;
+        return seek(after, limit,
+                (key, page) -> filterRole == null
+                        ? userRepository.findAdminRowsAfter(key, enabled, page)
+                        : userRepository.findAdminRowsWithRoleAfter(filterRole, key, enabled, page),
+                AdminUserRow::getId,
+                rows -> sink.accept(withRoles(rows)));
+    }
+
+    // A user's sessions, newest first. Returns the opaque cursor of the next page, or null on the last page.
+    public String listSessions(long userId, Boolean active, String cursor, int limit, Consumer<List<AdminSessionSummary>> sink) {
+        checkLimit(limit);
+        SessionKey start = cursor == null || cursor.isBlank() ? FIRST_SESSION : decode(cursor);
+        if (!userRepository.existsById(userId)) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        SessionKey next = seek(start, limit,
+                (key, page) -> sessionRepository.findAdminRowsBefore(userId, active, key.createdAt(), key.id(), page),
+                s -> new SessionKey(s.getCreatedAt(), s.getId()),
+                rows -> sink.accept(rows.stream().map(s -> new AdminSessionSummary(
+                        s.getId(), s.getCreatedAt(), s.getRefreshExpiresAt(), Boolean.TRUE.equals(s.getActive()),
+                        s.getRevokedAt(), s.getIp(), s.getUserAgent())).toList()));
+        return next == null ? null : encode(next);
+    }
+
+    private static <K, R> K seek(K start, int limit, BiFunction<K, Pageable, List<R>> fetch, Function<R, K> keyOf,
+                                 Consumer<List<R>> sink) {
+        K key = start;
+        int remaining = limit;
+        while (true) {
+            int size = Math.min(remaining, CHUNK_SIZE);
+            // The page's last chunk reads one row past the limit to tell whether another page follows.
+            boolean lastChunk = size == remaining;
+            List<R> rows = fetch.apply(key, PageRequest.of(0, lastChunk ? size + 1 : size));
+            boolean more = rows.size() > size;
+            if (more) rows = rows.subList(0, size);
+            if (!rows.isEmpty()) {
+                sink.accept(rows);
+                key = keyOf.apply(rows.get(rows.size() - 1));
+            }
+            if (rows.size() < size) return null;
+            if (lastChunk) return more ? key : null;
+            remaining -= size;
+        }
+    }
+
+    // One query for the chunk's role ids; names come from the role index.
+    private List<AdminUserSummary> withRoles(List<AdminUserRow> rows) {
+        Map<Long, List<Integer>> roleIds = new HashMap<>();
+        for (UserRoleRow r : userRepository.findRoleIdsByUserIds(rows.stream().map(AdminUserRow::getId).toList())) {
+            roleIds.computeIfAbsent(r.getUserId(), id -> new ArrayList<>()).add(r.getRoleId());
+        }
+        return rows.stream().map(u -> new AdminUserSummary(
+                u.getId(), u.getEmail(), u.getDni(), u.getFirstName(), u.getLastName(), Boolean.TRUE.equals(u.getEnabled()),
+                roleIndex.resolve(roleIds.getOrDefault(u.getId(), List.of())).roleNames())).toList();
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private static String encode(SessionKey key) {
+        String raw = key.createdAt() + "|" + key.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SessionKey decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new SessionKey(Instant.parse(raw.substring(0, sep)), UUID.fromString(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed cursor");
+        }
+    }
+}
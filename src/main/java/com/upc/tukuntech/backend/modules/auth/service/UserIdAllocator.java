@@ -0,0 +1,64 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.config.UserProvisioningProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Hands out blocks of user ids from the id_generators row Hibernate's pooled-lo table generator uses.
+// The row holds the next unallocated id, so a block taken here and one taken by Hibernate never overlap.
+@Slf4j
+@Component
+public class UserIdAllocator implements SmartInitializingSingleton {
+    public static final String GENERATOR = "user_ids";
+    public static final String TABLE = "id_generators";
+    public static final String SEGMENT = "users";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final UserProvisioningProperties props;
+
+    public UserIdAllocator(JdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+                           UserProvisioningProperties props) {
+        this.jdbc = jdbc;
+        this.props = props;
+        // Own transaction: the generator row stays locked only for the reservation, not the caller's inserts.
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // First id of a block of count consecutive ids.
+    public long reserve(int count) {
+        if (count <= 0) throw new IllegalArgumentException("count must be positive");
+        Long next = tx.execute(status -> {
+            int updated = jdbc.update("UPDATE " + TABLE + " SET next_val = next_val + ? WHERE sequence_name = ?",
+                    count, SEGMENT);
+            if (updated == 0) throw new IllegalStateException("Id generator row '" + SEGMENT + "' is missing");
+            return jdbc.queryForObject("SELECT next_val FROM " + TABLE + " WHERE sequence_name = ?", Long.class, SEGMENT);
+        });
+        return next - count;
+    }
+
+    // Runs before the web server and command line runners, i.e. before the first user insert.
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!props.isAlignIdGeneratorOnStartup()) return;
+        tx.executeWithoutResult(status -> {
+            try {
+                jdbc.update("INSERT INTO " + TABLE + " (sequence_name, next_val) SELECT ?, COALESCE(MAX(id), 0) + 1 FROM users"
+                        + " WHERE NOT EXISTS (SELECT 1 FROM " + TABLE + " WHERE sequence_name = ?)", SEGMENT, SEGMENT);
+            } catch (DuplicateKeyException raced) {
+                // Another node created it between the check and the insert.
+            }
+            jdbc.update("UPDATE " + TABLE + " SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM users))"
+                    + " WHERE sequence_name = ?", SEGMENT);
+        });
+        log.debug("User id generator aligned");
+    }
+}
@@ -0,0 +1,261 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.config.UserProvisioningProperties;
+import com.upc.tukuntech.backend.modules.auth.dto.UserImportResult;
+import com.upc.tukuntech.backend.modules.auth.dto.UserImportResult.Status;
+import com.upc.tukuntech.backend.modules.auth.dto.UserImportRow;
+import com.upc.tukuntech.backend.modules.auth.entity.RoleEntity;
+import com.upc.tukuntech.backend.modules.auth.repository.RoleRepository;
+import com.upc.tukuntech.backend.modules.auth.util.UserImportReader;
+import com.upc.tukuntech.backend.shared.security.ParallelPasswordHasher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+// Bulk provisioning outside the JPA session: each batch of rows is validated, checked against the
+// email/dni unique indexes with two IN queries, hashed in parallel, given ids from one reserved block
+// and written with two JDBC batches in a single transaction. Results are emitted per batch, in line order.
+@Slf4j
+@Service
+public class UserImportService {
+    private static final String DEFAULT_ROLE = "PATIENT";
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final int BCRYPT_MAX_BYTES = 72;
+    private static final int MIN_PASSWORD_LENGTH = 8;
+
+    private static final String INSERT_USER = "INSERT INTO users (id, first_name, last_name, dni, email, password, enabled, auth_version)"
+            + " VALUES (:id, :firstName, :lastName, :dni, :email, :password, TRUE, 0)";
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_roles (user_id, role_id) VALUES (:userId, :roleId)";
+
+    private record Candidate(long line, UserImportRow row, List<Integer> roleIds) {
+        String email() {
+            return row.email().trim();
+        }
+
+        String dni() {
+            return row.dni().trim();
+        }
+    }
+
+    private record Insert(Candidate candidate, long id, String passwordHash) {}
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final RoleRepository roleRepository;
+    private final UserIdAllocator idAllocator;
+    private final ParallelPasswordHasher hasher;
+    private final UserProvisioningProperties props;
+    private final Map<Status, Counter> rows = new EnumMap<>(Status.class);
+
+    public UserImportService(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+                             RoleRepository roleRepository, UserIdAllocator idAllocator,
+                             ParallelPasswordHasher hasher, UserProvisioningProperties props, MeterRegistry meterRegistry) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.roleRepository = roleRepository;
+        this.idAllocator = idAllocator;
+        this.hasher = hasher;
+        this.props = props;
+        for (Status status : Status.values()) {
+            rows.put(status, Counter.builder("auth.user_import.rows")
+                    .description("Bulk-imported rows by result")
+                    .tag("status", status.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    public Map<Status, Long> importUsers(UserImportReader reader, Consumer<List<UserImportResult>> sink) throws IOException {
+        Map<String, Integer> roleIds = new HashMap<>();
+        for (RoleEntity r : roleRepository.findAll()) {
+            roleIds.put(r.getName().toUpperCase(Locale.ROOT), r.getId());
+        }
+
+        Map<Status, Long> totals = new EnumMap<>(Status.class);
+        List<UserImportReader.Line> batch = new ArrayList<>(props.getBatchSize());
+        UserImportReader.Line line;
+        while ((line = reader.next()) != null) {
+            batch.add(line);
+            if (batch.size() == props.getBatchSize()) {
+                emit(processBatch(batch, roleIds), totals, sink);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) emit(processBatch(batch, roleIds), totals, sink);
+
+        log.info("User import finished: {}", totals);
+        return totals;
+    }
+
+    private void emit(List<UserImportResult> results, Map<Status, Long> totals, Consumer<List<UserImportResult>> sink) {
+        results.sort(Comparator.comparingLong(UserImportResult::line));
+        results.forEach(r -> {
+            totals.merge(r.status(), 1L, Long::sum);
+            rows.get(r.status()).increment();
+        });
+        sink.accept(results);
+    }
+
+    private List<UserImportResult> processBatch(List<UserImportReader.Line> lines, Map<String, Integer> roleIds) {
+        List<UserImportResult> results = new ArrayList<>(lines.size());
+        List<Candidate> candidates = new ArrayList<>(lines.size());
+        Set<String> batchEmails = new HashSet<>();
+        Set<String> batchDnis = new HashSet<>();
+
+        for (UserImportReader.Line l : lines) {
+            String email = l.row() == null || l.row().email() == null ? null : l.row().email().trim();
+            String error = l.error() != null ? l.error() : validate(l.row());
+            List<Integer> ids = error == null ? resolveRoles(l.row().roles(), roleIds) : null;
+            if (error == null && ids == null) error = "Unknown role in " + l.row().roles();
+            if (error != null) {
+                results.add(UserImportResult.rejected(l.number(), email, Status.INVALID, error));
+                continue;
+            }
+            Candidate c = new Candidate(l.number(), l.row(), ids);
+            if (!batchEmails.add(c.email().toLowerCase(Locale.ROOT)) || !batchDnis.add(c.dni().toLowerCase(Locale.ROOT))) {
+                results.add(UserImportResult.rejected(l.number(), email, Status.DUPLICATE, "Repeated earlier in the import"));
+                continue;
+            }
+            candidates.add(c);
+        }
+        if (candidates.isEmpty()) return results;
+
+        Set<String> takenEmails = existing("SELECT email FROM users WHERE email IN (:values)",
+                candidates.stream().map(Candidate::email).toList());
+        Set<String> takenDnis = existing("SELECT dni FROM users WHERE dni IN (:values)",
+                candidates.stream().map(Candidate::dni).toList());
+        List<Candidate> fresh = new ArrayList<>(candidates.size());
+        for (Candidate c : candidates) {
+            if (takenEmails.contains(c.email().toLowerCase(Locale.ROOT))) {
+                results.add(UserImportResult.rejected(c.line(), c.email(), Status.DUPLICATE, "Email already registered"));
+            } else if (takenDnis.contains(c.dni().toLowerCase(Locale.ROOT))) {
+                results.add(UserImportResult.rejected(c.line(), c.email(), Status.DUPLICATE, "DNI already registered"));
+            } else {
+                fresh.add(c);
+            }
+        }
+        if (fresh.isEmpty()) return results;
+
+        List<String> hashes = hasher.encodeAll(fresh.stream().map(c -> c.row().password()).toList());
+        long firstId = idAllocator.reserve(fresh.size());
+        List<Insert> inserts = new ArrayList<>(fresh.size());
+        for (int i = 0; i < fresh.size(); i++) {
+            inserts.add(new Insert(fresh.get(i), firstId + i, hashes.get(i)));
+        }
+        results.addAll(insert(inserts));
+        return results;
+    }
+
+    private List<UserImportResult> insert(List<Insert> inserts) {
+        try {
+            tx.executeWithoutResult(status -> write(inserts));
+            return inserts.stream()
+                    .map(i -> UserImportResult.created(i.candidate().line(), i.candidate().email(), i.id()))
+                    .toList();
+        } catch (DataIntegrityViolationException batchFailure) {
+            // Someone registered one of these between the pre-check and the insert; settle it row by row.
+            log.debug("Import batch of {} hit a constraint, retrying rows individually", inserts.size(), batchFailure);
+            List<UserImportResult> results = new ArrayList<>(inserts.size());
+            for (Insert i : inserts) {
+                Candidate c = i.candidate();
+                try {
+                    tx.executeWithoutResult(status -> write(List.of(i)));
+                    results.add(UserImportResult.created(c.line(), c.email(), i.id()));
+                } catch (DuplicateKeyException e) {
+                    results.add(UserImportResult.rejected(c.line(), c.email(), Status.DUPLICATE, "Email or DNI already registered"));
+                } catch (RuntimeException e) {
+                    log.warn("Import of line {} failed", c.line(), e);
+                    results.add(UserImportResult.rejected(c.line(), c.email(), Status.FAILED, "Could not be stored"));
+                }
+            }
+            return results;
+        }
+    }
+
+    private void write(List<Insert> inserts) {
+        List<Map<String, Object>> users = new ArrayList<>(inserts.size());
+        List<Map<String, Object>> userRoles = new ArrayList<>(inserts.size());
+        for (Insert i : inserts) {
+            UserImportRow row = i.candidate().row();
+            Map<String, Object> user = new HashMap<>();
+            user.put("id", i.id());
+            user.put("firstName", trimToNull(row.firstName()));
+            user.put("lastName", trimToNull(row.lastName()));
+            user.put("dni", i.candidate().dni());
+            user.put("email", i.candidate().email());
+            user.put("password", i.passwordHash());
+            users.add(user);
+            for (Integer roleId : i.candidate().roleIds()) {
+                userRoles.add(Map.of("userId", i.id(), "roleId", roleId));
+            }
+        }
+        jdbc.batchUpdate(INSERT_USER, SqlParameterSourceUtils.createBatch(users));
+        jdbc.batchUpdate(INSERT_USER_ROLE, SqlParameterSourceUtils.createBatch(userRoles));
+    }
+
+    // Matches are lower-cased: the unique indexes compare with the column's case-insensitive collation.
+    private Set<String> existing(String sql, List<String> values) {
+        Set<String> found = new HashSet<>();
+        jdbc.query(sql, Map.of("values", values), rs -> {
+            found.add(rs.getString(1).toLowerCase(Locale.ROOT));
+        });
+        return found;
+    }
+
+    private static String validate(UserImportRow row) {
+        if (isBlank(row.email()) || row.email().trim().length() > 160 || !EMAIL.matcher(row.email().trim()).matches()) {
+            return "email: invalid";
+        }
+        if (isBlank(row.dni()) || row.dni().trim().length() > 20) return "dni: required, at most 20 characters";
+        if (row.password() == null || row.password().length() < MIN_PASSWORD_LENGTH) {
+            return "password: at least " + MIN_PASSWORD_LENGTH + " characters";
+        }
+        if (row.password().getBytes(StandardCharsets.UTF_8).length > BCRYPT_MAX_BYTES) {
+            return "password: at most " + BCRYPT_MAX_BYTES + " bytes";
+        }
+        if (row.firstName() != null && row.firstName().trim().length() > 80) return "firstName: at most 80 characters";
+        if (row.lastName() != null && row.lastName().trim().length() > 80) return "lastName: at most 80 characters";
+        return null;
+    }
+
+    // Role ids for the row, PATIENT when none are given, or null if a name is unknown.
+    private static List<Integer> resolveRoles(List<String> names, Map<String, Integer> roleIds) {
+        List<String> requested = names == null || names.isEmpty() ? List.of(DEFAULT_ROLE) : names;
+        Set<Integer> ids = new HashSet<>();
+        for (String name : requested) {
+            Integer id = name == null ? null : roleIds.get(name.trim().toUpperCase(Locale.ROOT));
+            if (id == null) return null;
+            ids.add(id);
+        }
+        return List.copyOf(ids);
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    private static String trimToNull(String s) {
+        return isBlank(s) ? null : s.trim();
+    }
+}
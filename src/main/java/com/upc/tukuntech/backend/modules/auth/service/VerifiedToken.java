@@ -0,0 +1,14 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record VerifiedToken(
+        String subject,
+        Long userId,
+        UUID sessionId,
+        List<Integer> roleIds,
+        Long authVersion,
+        Instant expiresAt
+) {}
@@ -0,0 +1,153 @@
+package com.upc.tukuntech.backend.modules.auth.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+// Immutable authority bitset. Bit positions come from database ids so every node agrees on them
+// without coordination: role id n is bit 2n, permission id n is bit 2n+1.
+public final class AuthorityBits {
+    public static final AuthorityBits EMPTY = new AuthorityBits(new long[0]);
+    // Highest role or permission id that gets a bit. Keeps every bitset, and so every token, within 64 bytes.
+    public static final int MAX_ID = 255;
+
+    private final long[] words;
+
+    private AuthorityBits(long[] words) {
+        this.words = words;
+    }
+
+    public static int roleBit(int roleId) {
+        return Math.multiplyExact(roleId, 2);
+    }
+
+    public static int permissionBit(long permissionId) {
+        return Math.toIntExact(permissionId * 2 + 1);
+    }
+
+    public static AuthorityBits ofRoles(Collection<Integer> roleIds) {
+        Builder builder = builder();
+        roleIds.forEach(id -> builder.set(roleBit(id)));
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean has(int bit) {
+        if (bit < 0) return false;
+        int word = bit >>> 6;
+        return word < words.length && (words[word] & (1L << bit)) != 0;
+    }
+
+    public boolean intersects(AuthorityBits other) {
+        int n = Math.min(words.length, other.words.length);
+        for (int i = 0; i < n; i++) {
+            if ((words[i] & other.words[i]) != 0) return true;
+        }
+        return false;
+    }
+
+    public AuthorityBits or(AuthorityBits other) {
+        long[] longer = words.length >= other.words.length ? words : other.words;
+        long[] shorter = longer == words ? other.words : words;
+        long[] merged = longer.clone();
+        for (int i = 0; i < shorter.length; i++) merged[i] |= shorter[i];
+        return new AuthorityBits(merged);
+    }
+
+    public List<Integer> roleIds() {
+        List<Integer> ids = new ArrayList<>();
+        for (int w = 0; w < words.length; w++) {
+            // Even bits only: role positions.
+            long roles = words[w] & 0x5555_5555_5555_5555L;
+            while (roles != 0) {
+                int bit = (w << 6) + Long.numberOfTrailingZeros(roles);
+                ids.add(bit >>> 1);
+                roles &= roles - 1;
+            }
+        }
+        return ids;
+    }
+
+    // Little-endian bytes with trailing zero bytes dropped.
+    public byte[] toByteArray() {
+        ByteBuffer buf = ByteBuffer.allocate(words.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (long w : words) buf.putLong(w);
+        byte[] bytes = buf.array();
+        int len = bytes.length;
+        while (len > 0 && bytes[len - 1] == 0) len--;
+        return Arrays.copyOf(bytes, len);
+    }
+
+    public static AuthorityBits fromByteArray(byte[] bytes) {
+        long[] words = new long[(bytes.length + Long.BYTES - 1) / Long.BYTES];
+        for (int i = 0; i < bytes.length; i++) {
+            words[i >>> 3] |= (bytes[i] & 0xffL) << ((i & 7) << 3);
+        }
+        return new AuthorityBits(trim(words));
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(toByteArray());
+    }
+
+    public static AuthorityBits decode(String encoded) {
+        return fromByteArray(Base64.getUrlDecoder().decode(encoded));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof AuthorityBits other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return "AuthorityBits" + Arrays.toString(words);
+    }
+
+    private static long[] trim(long[] words) {
+        int len = words.length;
+        while (len > 0 && words[len - 1] == 0) len--;
+        return len == words.length ? words : Arrays.copyOf(words, len);
+    }
+
+    public static final class Builder {
+        private long[] words = new long[1];
+
+        private Builder() {}
+
+        public Builder set(int bit) {
+            if (bit < 0) throw new IllegalArgumentException("Negative authority bit " + bit);
+            int word = bit >>> 6;
+            if (word >= words.length) words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+            words[word] |= 1L << bit;
+            return this;
+        }
+
+        public Builder or(AuthorityBits bits) {
+            for (int i = bits.words.length - 1; i >= 0; i--) {
+                long w = bits.words[i];
+                while (w != 0) {
+                    set((i << 6) + Long.numberOfTrailingZeros(w));
+                    w &= w - 1;
+                }
+            }
+            return this;
+        }
+
+        public AuthorityBits build() {
+            return new AuthorityBits(trim(words.clone()));
+        }
+    }
+}
@@ -1,28 +1,142 @@
 package com.upc.tukuntech.backend.modules.auth.util;
 
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.DrbgParameters;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Base64;
 
 public class CryptoUtils {
-    private static final SecureRandom RNG = new SecureRandom();
+    public static final int SHA256_BYTES = 32;
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private static final InstancePool<Sha256> DIGESTS = new InstancePool<>(Sha256::new);
+    private static final InstancePool<TokenSource> RANDOMS = new InstancePool<>(TokenSource::new);
+    // Scratch buffers above this size are not kept in the pools.
+    private static final int MAX_BUFFERED = 4096;
+
     private CryptoUtils() {}
 
-    public static String randomToken(int bytes){
-        byte[] buf = new byte[bytes];
-        RNG.nextBytes(buf);
-        return Base64.getUrlEncoder().withoutPadding().encodeToString(buf);
+    public static String randomToken(int bytes) {
+        if (bytes > MAX_BUFFERED) {
+            byte[] buf = new byte[bytes];
+            newRandom().nextBytes(buf);
+            return BASE64_URL.encodeToString(buf);
+        }
+        TokenSource source = RANDOMS.acquire();
+        try {
+            return source.next(bytes);
+        } finally {
+            RANDOMS.release(source);
+        }
     }
 
     public static String sha256Hex(String data) {
+        Sha256 sha = DIGESTS.acquire();
         try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] dig = md.digest(data.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-            StringBuilder sb = new StringBuilder(dig.length * 2);
-            for (byte b : dig) sb.append(String.format("%02x", b));
-            return sb.toString();
-        } catch (Exception e) {
-            throw new IllegalStateException("SHA-256 not available", e);
+            sha.digest(data);
+            return toHex(sha.out);
+        } finally {
+            DIGESTS.release(sha);
+        }
+    }
+
+    public static byte[] sha256(String data) {
+        Sha256 sha = DIGESTS.acquire();
+        try {
+            sha.digest(data);
+            return sha.out.clone();
+        } finally {
+            DIGESTS.release(sha);
+        }
+    }
+
+    public static String toHex(byte[] bytes) {
+        byte[] hex = new byte[bytes.length * 2];
+        for (int i = 0, j = 0; i < bytes.length; i++) {
+            hex[j++] = HEX[(bytes[i] >> 4) & 0x0f];
+            hex[j++] = HEX[bytes[i] & 0x0f];
+        }
+        return new String(hex, StandardCharsets.ISO_8859_1);
+    }
+
+    // One DRBG per pool stripe: each is seeded independently and never shared between threads,
+    // so callers don't serialize on a single instance or block on the entropy source after seeding.
+    private static SecureRandom newRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG",
+                    DrbgParameters.instantiation(256, DrbgParameters.Capability.NONE, null));
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    private static final class TokenSource {
+        private final SecureRandom rng = newRandom();
+        private byte[] raw = new byte[0];
+        private byte[] encoded = new byte[0];
+
+        String next(int bytes) {
+            if (raw.length != bytes) {
+                raw = new byte[bytes];
+                encoded = new byte[(bytes * 4 + 2) / 3];
+            }
+            rng.nextBytes(raw);
+            int n = BASE64_URL.encode(raw, encoded);
+            return new String(encoded, 0, n, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    private static final class Sha256 {
+        private final MessageDigest md;
+        private final byte[] out = new byte[SHA256_BYTES];
+        private byte[] in = new byte[128];
+
+        Sha256() {
+            try {
+                md = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        void digest(String data) {
+            int len = data.length();
+            if (len > MAX_BUFFERED) {
+                md.update(data.getBytes(StandardCharsets.UTF_8));
+                finish();
+                return;
+            }
+            if (in.length < len) in = new byte[MAX_BUFFERED];
+            boolean ascii = true;
+            for (int i = 0; i < len; i++) {
+                char c = data.charAt(i);
+                if (c >= 0x80) {
+                    ascii = false;
+                    break;
+                }
+                in[i] = (byte) c;
+            }
+            // Tokens are always ASCII; anything else takes the regular UTF-8 path.
+            if (ascii) {
+                md.update(in, 0, len);
+            } else {
+                md.update(data.getBytes(StandardCharsets.UTF_8));
+            }
+            finish();
+        }
+
+        private void finish() {
+            try {
+                md.digest(out, 0, SHA256_BYTES);
+            } catch (DigestException e) {
+                md.reset();
+                throw new IllegalStateException("SHA-256 failed", e);
+            }
         }
     }
 }
@@ -0,0 +1,35 @@
+package com.upc.tukuntech.backend.modules.auth.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+// Striped, lock-free pool for non-thread-safe objects. Unlike a ThreadLocal it stays bounded
+// when requests run on virtual threads: at most one idle instance is kept per stripe.
+public final class InstancePool<T> {
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final Supplier<T> factory;
+
+    public InstancePool(Supplier<T> factory) {
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 4 - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(stripes);
+        this.mask = stripes - 1;
+        this.factory = factory;
+    }
+
+    public T acquire() {
+        int slot = slot();
+        T instance = slots.getAndSet(slot, null);
+        return instance != null ? instance : factory.get();
+    }
+
+    public void release(T instance) {
+        // If another instance already sits in the stripe, this one is simply dropped.
+        slots.compareAndSet(slot(), null, instance);
+    }
+
+    private int slot() {
+        long id = Thread.currentThread().threadId();
+        return (int) (id ^ (id >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,20 @@
+package com.upc.tukuntech.backend.modules.auth.util;
+
+import com.upc.tukuntech.backend.modules.auth.entity.RoleEntity;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public class UserAuthorities {
+    public static final String ROLE_PREFIX = "ROLE_";
+    public static final String PERMISSION_PREFIX = "PERM_";
+
+    private UserAuthorities() {}
+
+    public static Set<String> of(RoleEntity role) {
+        Set<String> authorities = new LinkedHashSet<>();
+        authorities.add(ROLE_PREFIX + role.getName());
+        role.getPermissions().forEach(p -> authorities.add(PERMISSION_PREFIX + p.getName()));
+        return authorities;
+    }
+}
@@ -0,0 +1,131 @@
+package com.upc.tukuntech.backend.modules.auth.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upc.tukuntech.backend.modules.auth.dto.UserImportRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Reads an import body one line at a time, so the whole upload is never held in memory. NDJSON has one
+// object per line; CSV has a header row naming the columns and one single-line record per row.
+public final class UserImportReader {
+    public enum Format { CSV, NDJSON }
+
+    public record Line(long number, UserImportRow row, String error) {}
+
+    private static final List<String> CSV_COLUMNS = List.of("email", "dni", "password", "firstname", "lastname", "roles");
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private long lineNumber;
+    private int[] csvColumns;
+    private boolean headerRejected;
+
+    public UserImportReader(BufferedReader reader, Format format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    // Next non-blank line, or null at the end of the body. A bad CSV header is reported once and ends the body.
+    public Line next() throws IOException {
+        if (headerRejected) return null;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && !text.isEmpty() && text.charAt(0) == '\uFEFF') text = text.substring(1);
+            if (text.isBlank()) continue;
+            if (format == Format.CSV && csvColumns == null) {
+                String error = readHeader(text);
+                if (error != null) {
+                    headerRejected = true;
+                    return new Line(lineNumber, null, error);
+                }
+                continue;
+            }
+            return format == Format.CSV ? csvLine(text) : jsonLine(text);
+        }
+        return null;
+    }
+
+    private Line jsonLine(String text) {
+        try {
+            return new Line(lineNumber, objectMapper.readValue(text, UserImportRow.class), null);
+        } catch (JsonProcessingException e) {
+            return new Line(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private String readHeader(String text) {
+        List<String> names = splitCsv(text);
+        if (names == null) return "Malformed CSV header";
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            positions.put(names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        int[] columns = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = positions.getOrDefault(CSV_COLUMNS.get(i), -1);
+        }
+        if (columns[0] < 0 || columns[1] < 0 || columns[2] < 0) return "CSV header must name email, dni and password";
+        csvColumns = columns;
+        return null;
+    }
+
+    private Line csvLine(String text) {
+        List<String> fields = splitCsv(text);
+        if (fields == null) return new Line(lineNumber, null, "Malformed CSV: unterminated quote");
+        String roles = field(fields, 5);
+        return new Line(lineNumber, new UserImportRow(
+                field(fields, 0), field(fields, 1), field(fields, 2), field(fields, 3), field(fields, 4),
+                roles == null ? null : Arrays.stream(roles.split("[|;]")).map(String::trim).filter(r -> !r.isEmpty()).toList()
+        ), null);
+    }
+
+    private String field(List<String> fields, int column) {
+        int i = csvColumns[column];
+        if (i < 0 || i >= fields.size()) return null;
+        String value = fields.get(i);
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 fields within one line: quoted fields may hold commas and doubled quotes. Null if a quote is left open.
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) return null;
+        fields.add(current.toString());
+        return fields;
+    }
+}
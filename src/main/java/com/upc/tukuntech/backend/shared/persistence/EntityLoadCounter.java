@@ -0,0 +1,14 @@
+package com.upc.tukuntech.backend.shared.persistence;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+public class EntityLoadCounter implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        SqlStats stats = SqlTracker.current();
+        if (stats != null) stats.entityLoaded();
+        return false;
+    }
+}
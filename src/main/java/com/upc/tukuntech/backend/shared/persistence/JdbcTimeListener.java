@@ -0,0 +1,35 @@
+package com.upc.tukuntech.backend.shared.persistence;
+
+import org.hibernate.SessionEventListener;
+
+// Instantiated by Hibernate for every session (hibernate.session.events.auto), so the start
+// timestamps need no synchronization.
+public class JdbcTimeListener implements SessionEventListener {
+    private long executeStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(batchStart);
+    }
+
+    private static void record(long start) {
+        SqlStats stats = SqlTracker.current();
+        if (stats != null) stats.jdbcTime(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,104 @@
+package com.upc.tukuntech.backend.shared.persistence;
+
+import com.upc.tukuntech.backend.config.SqlTrackingProperties;
+import com.upc.tukuntech.backend.config.SqlTrackingProperties.Budget;
+import com.upc.tukuntech.backend.config.SqlTrackingProperties.EndpointBudget;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+// Outermost filter so statements issued by the security chain (user loads, session writes) count too.
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(value = "app.observability.sql-tracking.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+    private static final String UNMATCHED = "UNMATCHED";
+
+    private final MeterRegistry meterRegistry;
+    private final Budget defaultBudget;
+    private final Map<String, Budget> budgets = new HashMap<>();
+
+    public SqlBudgetFilter(SqlTrackingProperties props, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.defaultBudget = props.getDefaultBudget();
+        for (EndpointBudget b : props.getEndpoints()) {
+            budgets.put(key(b.getMethod(), b.getPattern()), b);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlTracker.Scope scope = SqlTracker.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            record(request, scope.stats());
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNMATCHED;
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("db.request.statements")
+                .description("SQL statements prepared while serving a request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("db.request.entity_loads")
+                .description("Entities hydrated while serving a request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getEntityLoads());
+        Timer.builder("db.request.jdbc")
+                .description("Time spent executing JDBC statements while serving a request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getJdbcTime());
+
+        Budget budget = budgets.getOrDefault(key(request.getMethod(), uri), defaultBudget);
+        if (budget.isUnbounded()) return;
+        if (stats.getStatements() > budget.getStatements() || stats.getEntityLoads() > budget.getEntityLoads()) {
+            meterRegistry.counter("db.request.budget_exceeded", tags).increment();
+            log.atWarn()
+                    .setMessage("SQL budget exceeded for {} {}: {}")
+                    .addArgument(request.getMethod())
+                    .addArgument(uri)
+                    .addArgument(stats)
+                    .addKeyValue("event", "sql_budget_exceeded")
+                    .addKeyValue("method", request.getMethod())
+                    .addKeyValue("uri", uri)
+                    .addKeyValue("statements", stats.getStatements())
+                    .addKeyValue("statementBudget", budget.getStatements())
+                    .addKeyValue("entityLoads", stats.getEntityLoads())
+                    .addKeyValue("entityLoadBudget", budget.getEntityLoads())
+                    .addKeyValue("jdbcMs", stats.getJdbcTime().toMillis())
+                    .log();
+        }
+    }
+
+    private static String key(String method, String pattern) {
+        return method.toUpperCase() + " " + pattern;
+    }
+}
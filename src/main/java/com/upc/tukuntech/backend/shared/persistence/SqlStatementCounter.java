@@ -0,0 +1,13 @@
+package com.upc.tukuntech.backend.shared.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class SqlStatementCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStats stats = SqlTracker.current();
+        if (stats != null) stats.statementPrepared();
+        return sql;
+    }
+}
@@ -0,0 +1,45 @@
+package com.upc.tukuntech.backend.shared.persistence;
+
+import java.time.Duration;
+
+// Counters for one tracked unit of work. Only ever touched by the thread that owns the scope.
+public class SqlStats {
+    private int statements;
+    private int entityLoads;
+    private long jdbcNanos;
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void jdbcTime(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    void add(SqlStats other) {
+        statements += other.statements;
+        entityLoads += other.entityLoads;
+        jdbcNanos += other.jdbcNanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "statements=" + statements + " entityLoads=" + entityLoads + " jdbcMs=" + getJdbcTime().toMillis();
+    }
+}
@@ -0,0 +1,42 @@
+package com.upc.tukuntech.backend.shared.persistence;
+
+// Thread-bound SQL accounting fed by the Hibernate hooks. Work on threads without an open scope
+// (schedulers) is not attributed to any request; the session write-behind flusher tracks its own batches.
+public final class SqlTracker {
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private SqlTracker() {}
+
+    public static Scope open() {
+        return new Scope(CURRENT.get());
+    }
+
+    static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final SqlStats parent;
+        private final SqlStats stats = new SqlStats();
+
+        private Scope(SqlStats parent) {
+            this.parent = parent;
+            CURRENT.set(stats);
+        }
+
+        public SqlStats stats() {
+            return stats;
+        }
+
+        // Nested scopes roll their counts up, so a test can wrap a request that the filter also tracks.
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                parent.add(stats);
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
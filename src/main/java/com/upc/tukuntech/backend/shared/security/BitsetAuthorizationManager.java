@@ -0,0 +1,66 @@
+package com.upc.tukuntech.backend.shared.security;
+
+import com.upc.tukuntech.backend.modules.auth.service.AuthUserDetails;
+import com.upc.tukuntech.backend.modules.auth.service.RoleAuthorityIndex;
+import com.upc.tukuntech.backend.modules.auth.util.AuthorityBits;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+// Grants when the principal holds any of the given authorities. The names are compiled once per
+// role index version into a mask, so a check is a few word ANDs with no allocation.
+public final class BitsetAuthorizationManager<T> implements AuthorizationManager<T> {
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private record Compiled(long version, AuthorityBits mask) {}
+
+    private final RoleAuthorityIndex index;
+    private final List<String> authorities;
+    private volatile Compiled compiled;
+
+    public BitsetAuthorizationManager(RoleAuthorityIndex index, List<String> authorities) {
+        this.index = index;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, T object) {
+        return isGranted(authentication.get()) ? GRANTED : DENIED;
+    }
+
+    private boolean isGranted(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return false;
+        }
+        if (authentication.getPrincipal() instanceof AuthUserDetails user && user.getAuthorityBits() != null) {
+            return user.getAuthorityBits().intersects(mask());
+        }
+        // Principals built elsewhere only carry string authorities.
+        for (GrantedAuthority granted : authentication.getAuthorities()) {
+            if (authorities.contains(granted.getAuthority())) return true;
+        }
+        return false;
+    }
+
+    private AuthorityBits mask() {
+        long version = index.version();
+        Compiled current = compiled;
+        if (current == null || current.version() != version) {
+            AuthorityBits.Builder mask = AuthorityBits.builder();
+            for (String authority : authorities) {
+                int bit = index.bitOf(authority);
+                if (bit >= 0) mask.set(bit);
+            }
+            current = new Compiled(version, mask.build());
+            compiled = current;
+        }
+        return current.mask();
+    }
+}
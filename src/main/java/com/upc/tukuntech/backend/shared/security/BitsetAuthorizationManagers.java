@@ -0,0 +1,30 @@
+package com.upc.tukuntech.backend.shared.security;
+
+import com.upc.tukuntech.backend.modules.auth.service.RoleAuthorityIndex;
+import com.upc.tukuntech.backend.modules.auth.util.UserAuthorities;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+@Component
+public class BitsetAuthorizationManagers {
+    private final RoleAuthorityIndex index;
+
+    public BitsetAuthorizationManagers(RoleAuthorityIndex index) {
+        this.index = index;
+    }
+
+    public <T> BitsetAuthorizationManager<T> hasAnyRole(String... roles) {
+        return new BitsetAuthorizationManager<>(index,
+                Arrays.stream(roles).map(r -> UserAuthorities.ROLE_PREFIX + r).toList());
+    }
+
+    public <T> BitsetAuthorizationManager<T> hasRole(String role) {
+        return hasAnyRole(role);
+    }
+
+    public <T> BitsetAuthorizationManager<T> hasAnyPermission(String... permissions) {
+        return new BitsetAuthorizationManager<>(index,
+                Arrays.stream(permissions).map(p -> UserAuthorities.PERMISSION_PREFIX + p).toList());
+    }
+}
@@ -0,0 +1,13 @@
+package com.upc.tukuntech.backend.shared.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public class ClientIp {
+    private ClientIp() {}
+
+    // Not the raw X-Forwarded-For header, which any client can set: the container resolves it into the
+    // remote address only for requests arriving through a trusted proxy (server.forward-headers-strategy).
+    public static String of(HttpServletRequest req) {
+        return req.getRemoteAddr();
+    }
+}
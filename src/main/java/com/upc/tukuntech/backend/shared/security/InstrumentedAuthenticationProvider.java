@@ -0,0 +1,42 @@
+package com.upc.tukuntech.backend.shared.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.concurrent.TimeUnit;
+
+// Splits AuthenticationManager time into the user lookup and the password check. retrieveUser is final,
+// so the lookup is timed by wrapping the UserDetailsService handed to the provider.
+public class InstrumentedAuthenticationProvider extends DaoAuthenticationProvider {
+    private final AuthMetrics metrics;
+
+    public InstrumentedAuthenticationProvider(UserDetailsService userDetailsService, AuthMetrics metrics) {
+        super(timed(userDetailsService, metrics));
+        this.metrics = metrics;
+    }
+
+    private static UserDetailsService timed(UserDetailsService delegate, AuthMetrics metrics) {
+        return username -> {
+            long start = System.nanoTime();
+            try {
+                return delegate.loadUserByUsername(username);
+            } finally {
+                metrics.loginStage(AuthMetrics.LoginStage.USER_LOAD).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails, UsernamePasswordAuthenticationToken authentication)
+            throws AuthenticationException {
+        long start = System.nanoTime();
+        try {
+            super.additionalAuthenticationChecks(userDetails, authentication);
+        } finally {
+            metrics.loginStage(AuthMetrics.LoginStage.PASSWORD_VERIFY).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -1,13 +1,22 @@
 package com.upc.tukuntech.backend.shared.security;
 
+import com.upc.tukuntech.backend.modules.auth.service.AuthUserDetails;
+import com.upc.tukuntech.backend.modules.auth.service.AuthVersionRegistry;
 import com.upc.tukuntech.backend.modules.auth.service.JwtService;
+import com.upc.tukuntech.backend.modules.auth.service.RoleAuthorityIndex;
+import com.upc.tukuntech.backend.modules.auth.service.SessionRevocationIndex;
+import com.upc.tukuntech.backend.modules.auth.service.VerifiedToken;
+import com.upc.tukuntech.backend.shared.security.AuthMetrics.RequestOutcome;
+import com.upc.tukuntech.backend.shared.security.AuthMetrics.RequestStage;
 import io.jsonwebtoken.*;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -15,17 +24,31 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final AuthVersionRegistry authVersionRegistry;
+    private final SessionRevocationIndex revocationIndex;
+    private final RoleAuthorityIndex roleAuthorityIndex;
+    private final AuthMetrics metrics;
+    private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
 
     public JwtAuthenticationFilter(JwtService jwtService,
-                                   UserDetailsService userDetailsService) {
+                                   UserDetailsService userDetailsService,
+                                   AuthVersionRegistry authVersionRegistry,
+                                   SessionRevocationIndex revocationIndex,
+                                   RoleAuthorityIndex roleAuthorityIndex,
+                                   AuthMetrics metrics) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.authVersionRegistry = authVersionRegistry;
+        this.revocationIndex = revocationIndex;
+        this.roleAuthorityIndex = roleAuthorityIndex;
+        this.metrics = metrics;
     }
 
     @Override
@@ -49,6 +72,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String authHeader = request.getHeader("Authorization");
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            metrics.requestOutcome(RequestOutcome.MISSING_TOKEN);
             filterChain.doFilter(request, response);
             return;
         }
@@ -56,10 +80,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7);
 
         try {
-            String username = jwtService.getEmailFromToken(token);
+            long parseStart = System.nanoTime();
+            VerifiedToken verified;
+            try {
+                verified = jwtService.verify(token);
+            } finally {
+                metrics.requestStage(RequestStage.TOKEN_PARSE).record(System.nanoTime() - parseStart, TimeUnit.NANOSECONDS);
+            }
+            String username = verified.subject();
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (username == null) {
+                metrics.requestOutcome(RequestOutcome.INVALID_TOKEN);
+            } else if (revocationIndex.isRevoked(verified.sessionId())) {
+                metrics.requestOutcome(RequestOutcome.REVOKED_SESSION);
+            } else if (securityContextHolderStrategy.getContext().getAuthentication() != null) {
+                metrics.requestOutcome(RequestOutcome.ALREADY_AUTHENTICATED);
+            } else {
+                UserDetails userDetails;
+                if (canTrustClaims(verified)) {
+                    userDetails = AuthUserDetails.from(verified, roleAuthorityIndex);
+                    metrics.requestOutcome(RequestOutcome.AUTHENTICATED_FROM_CLAIMS);
+                } else {
+                    long loadStart = System.nanoTime();
+                    try {
+                        userDetails = userDetailsService.loadUserByUsername(username);
+                    } finally {
+                        metrics.requestStage(RequestStage.USER_LOAD).record(System.nanoTime() - loadStart, TimeUnit.NANOSECONDS);
+                    }
+                    metrics.requestOutcome(RequestOutcome.AUTHENTICATED_FROM_USER_LOAD);
+                }
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -67,13 +116,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                 userDetails.getAuthorities()
                         );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+                // A fresh context rather than mutating the current one: the context is thread-bound, and
+                // with virtual threads a shared or inherited instance must never be written to.
+                SecurityContext context = securityContextHolderStrategy.createEmptyContext();
+                context.setAuthentication(authToken);
+                securityContextHolderStrategy.setContext(context);
             }
 
         } catch (JwtException ignored) {
-
+            metrics.requestOutcome(RequestOutcome.INVALID_TOKEN);
         }
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    public void setSecurityContextHolderStrategy(SecurityContextHolderStrategy securityContextHolderStrategy) {
+        this.securityContextHolderStrategy = securityContextHolderStrategy;
+    }
+
+    private boolean canTrustClaims(VerifiedToken verified) {
+        return jwtService.isStatelessAuthentication()
+                && verified.roleIds() != null
+                && authVersionRegistry.isCurrent(verified.subject(), verified.authVersion());
+    }
+}
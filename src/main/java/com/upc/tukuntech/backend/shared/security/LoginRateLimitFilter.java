@@ -0,0 +1,113 @@
+package com.upc.tukuntech.backend.shared.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upc.tukuntech.backend.config.LoginRateLimitProperties;
+import com.upc.tukuntech.backend.shared.api.ApiError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final LoginRateLimitProperties props;
+    private final ObjectMapper objectMapper;
+    private final TokenBucketRateLimiter ipLimiter;
+    private final TokenBucketRateLimiter emailLimiter;
+    private final Counter ipRejections;
+    private final Counter emailRejections;
+
+    public LoginRateLimitFilter(LoginRateLimitProperties props, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.objectMapper = objectMapper;
+        this.ipLimiter = new TokenBucketRateLimiter(
+                props.getIpCapacity(), props.getIpRefillInterval(), props.getMaxTrackedKeys(), props.getIdleExpiry());
+        this.emailLimiter = new TokenBucketRateLimiter(
+                props.getEmailCapacity(), props.getEmailRefillInterval(), props.getMaxTrackedKeys(), props.getIdleExpiry());
+        this.ipRejections = rejections(meterRegistry, "ip");
+        this.emailRejections = rejections(meterRegistry, "email");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!props.isEnabled() || !"POST".equals(request.getMethod())) return true;
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.equals("/auth/login");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long wait = ipLimiter.tryAcquire(ClientIp.of(request));
+        if (wait > 0) {
+            ipRejections.increment();
+            reject(request, response, wait);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            write(request, response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body too large");
+            return;
+        }
+
+        String email = emailOf(body);
+        if (email != null) {
+            wait = emailLimiter.tryAcquire(email);
+            if (wait > 0) {
+                emailRejections.increment();
+                reject(request, response, wait);
+                return;
+            }
+        }
+
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private String emailOf(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            if (email == null || !email.isTextual()) return null;
+            return email.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        write(request, response, HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts, try again later");
+    }
+
+    private void write(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiError.of(status.value(), status.getReasonPhrase(), message, request.getRequestURI()));
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String key) {
+        return Counter.builder("auth.login.rate_limited")
+                .description("Login attempts rejected by the rate limiter")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+}
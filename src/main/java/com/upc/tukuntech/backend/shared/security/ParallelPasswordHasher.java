@@ -0,0 +1,67 @@
+package com.upc.tukuntech.backend.shared.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Bulk hashing for provisioning, kept off the login pool of BoundedPasswordEncoder so an import cannot
+// starve sign-ins. When the queue is full the submitting thread hashes too, which throttles the import.
+public class ParallelPasswordHasher implements AutoCloseable {
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer hashTimer;
+
+    public ParallelPasswordHasher(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("bulk-password-hash-"),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.hashTimer = Timer.builder("auth.bulk_hashing.duration")
+                .description("Time spent computing a password hash for bulk provisioning")
+                .register(meterRegistry);
+        Gauge.builder("auth.bulk_hashing.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    // Hashes in input order; null entries stay null.
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        for (String raw : rawPasswords) {
+            futures.add(raw == null ? null : executor.submit(() -> hashTimer.record(() -> delegate.encode(raw))));
+        }
+        List<String> hashes = new ArrayList<>(futures.size());
+        try {
+            for (Future<String> f : futures) {
+                hashes.add(f == null ? null : f.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> { if (f != null) f.cancel(true); });
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> { if (f != null) f.cancel(true); });
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+        return hashes;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
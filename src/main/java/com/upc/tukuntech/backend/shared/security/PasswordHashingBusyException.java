@@ -0,0 +1,15 @@
+package com.upc.tukuntech.backend.shared.security;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class PasswordHashingBusyException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public PasswordHashingBusyException(Duration retryAfter) {
+        super("Too many concurrent logins, try again later");
+        this.retryAfter = retryAfter;
+    }
+}
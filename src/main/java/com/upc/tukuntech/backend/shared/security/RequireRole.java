@@ -0,0 +1,15 @@
+package com.upc.tukuntech.backend.shared.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Bitset-checked replacement for @PreAuthorize("hasAnyRole(...)"); role names without ROLE_.
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequireRole {
+    String[] value();
+}
@@ -0,0 +1,43 @@
+package com.upc.tukuntech.backend.shared.security;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Resolves @RequireRole once per method and reuses the compiled manager on every call.
+public class RequireRoleAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+    private final ObjectProvider<BitsetAuthorizationManagers> managers;
+    private final Map<Method, AuthorizationManager<MethodInvocation>> byMethod = new ConcurrentHashMap<>();
+
+    public RequireRoleAuthorizationManager(ObjectProvider<BitsetAuthorizationManagers> managers) {
+        this.managers = managers;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        return byMethod.computeIfAbsent(invocation.getMethod(), m -> compile(invocation))
+                .check(authentication, invocation);
+    }
+
+    private AuthorizationManager<MethodInvocation> compile(MethodInvocation invocation) {
+        Class<?> targetClass = invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis())
+                : invocation.getMethod().getDeclaringClass();
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        RequireRole annotation = AnnotatedElementUtils.findMergedAnnotation(method, RequireRole.class);
+        if (annotation == null) annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, RequireRole.class);
+        if (annotation == null) {
+            throw new IllegalStateException("No @RequireRole found for " + method);
+        }
+        return managers.getObject().hasAnyRole(annotation.value());
+    }
+}
@@ -0,0 +1,37 @@
+package com.upc.tukuntech.backend.shared.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket expressed as GCRA: each key holds one "theoretical arrival time" updated by CAS,
+// so there is no lock per key or globally. Idle keys are evicted to keep memory bounded.
+public class TokenBucketRateLimiter {
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    public TokenBucketRateLimiter(int capacity, Duration refillInterval, long maxKeys, Duration idleExpiry) {
+        this.intervalNanos = refillInterval.toNanos();
+        this.toleranceNanos = (capacity - 1) * intervalNanos;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleExpiry)
+                .build();
+    }
+
+    // Returns 0 when a token was taken, otherwise the nanoseconds until one is available.
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong tat = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = tat.get();
+            long start = Math.max(current, now);
+            long excess = start - now - toleranceNanos;
+            if (excess > 0) return excess;
+            if (tat.compareAndSet(current, start + intervalNanos)) return 0;
+        }
+    }
+}
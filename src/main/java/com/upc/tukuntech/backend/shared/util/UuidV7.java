@@ -0,0 +1,28 @@
+package com.upc.tukuntech.backend.shared.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// RFC 9562 version 7 ids: 48-bit Unix millis, then a 12-bit counter (rand_a) that keeps ids
+// strictly increasing within this JVM, then 62 random bits so separate nodes do not collide.
+// Time-ordered keys append to the right edge of the clustered index instead of splitting pages.
+public class UuidV7 {
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {}
+
+    public static UUID generate() {
+        long now = System.currentTimeMillis() << 12;
+        long prev, next;
+        do {
+            prev = LAST.get();
+            // Counter overflow or a clock step back borrows from the next millisecond.
+            next = Math.max(now, prev + 1);
+        } while (!LAST.compareAndSet(prev, next));
+
+        long msb = ((next >>> 12) << 16) | 0x7000L | (next & 0xFFFL);
+        long lsb = (ThreadLocalRandom.current().nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
+}
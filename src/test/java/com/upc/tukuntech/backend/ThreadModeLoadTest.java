@@ -0,0 +1,175 @@
+package com.upc.tukuntech.backend;
+
+import com.upc.tukuntech.backend.modules.auth.entity.RoleEntity;
+import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
+import com.upc.tukuntech.backend.modules.auth.repository.RoleFixtures;
+import com.upc.tukuntech.backend.modules.auth.repository.RoleRepository;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
+import com.upc.tukuntech.backend.modules.auth.service.AuthUserDetails;
+import com.upc.tukuntech.backend.modules.auth.service.CustomUserDetailsService;
+import com.upc.tukuntech.backend.modules.auth.service.JwtService;
+import com.upc.tukuntech.backend.modules.auth.service.RoleAuthorityIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Authenticated GET /test/me with stateless auth and the user cache off, so every request borrows a
+// connection. Compares the Tomcat platform pool with virtual threads plus the DB concurrency limiter.
+// H2 answers in microseconds; point -Dloadtest.db.url (and .username/.password) at MySQL for real waits.
+// Run with: ./mvnw test -Dtest=ThreadModeLoadTest -Dbenchmarks=true [-Dloadtest.clients=2000]
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ThreadModeLoadTest {
+    private static final String EMAIL = "load@tukuntech.com";
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 1_000);
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration MEASURE = Duration.ofSeconds(Long.getLong("loadtest.seconds", 30));
+
+    private record Result(String mode, long requests, long errors, double seconds, long[] latenciesNanos) {
+        double throughput() {
+            return requests / seconds;
+        }
+
+        double percentileMillis(double p) {
+            if (latenciesNanos.length == 0) return 0;
+            int i = (int) Math.ceil(p * latenciesNanos.length) - 1;
+            return latenciesNanos[Math.max(0, i)] / 1e6;
+        }
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[4_096];
+        private int size;
+
+        void add(long value) {
+            if (size == nanos.length) nanos = Arrays.copyOf(nanos, size * 2);
+            nanos[size++] = value;
+        }
+    }
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        List<Result> results = new ArrayList<>();
+        results.add(run("platform", false));
+        results.add(run("virtual", true));
+
+        System.out.printf("%n%-10s %10s %10s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Result r : results) {
+            System.out.printf("%-10s %10.0f %10.2f %10.2f %10.2f %8d%n", r.mode(), r.throughput(),
+                    r.percentileMillis(0.50), r.percentileMillis(0.99), r.percentileMillis(1.0), r.errors());
+        }
+    }
+
+    private Result run(String mode, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext ctx = start(mode, virtualThreads)) {
+            int port = ((WebServerApplicationContext) ctx).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/v1/test/me");
+            String token = seed(ctx);
+
+            drive(mode, uri, token, WARMUP);
+            return drive(mode, uri, token, MEASURE);
+        }
+    }
+
+    private ConfigurableApplicationContext start(String mode, boolean virtualThreads) {
+        SpringApplicationBuilder app = new SpringApplicationBuilder(TukuntechBackendApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "app.datasource.concurrency-limit.enabled=" + virtualThreads,
+                        "app.security.jwt.stateless-authentication=false",
+                        "app.security.user-cache.maximum-size=0",
+                        "app.observability.sql-tracking.enabled=false",
+                        "logging.level.root=WARN");
+        String url = System.getProperty("loadtest.db.url");
+        if (url != null) {
+            app.properties(
+                    "spring.datasource.url=" + url,
+                    "spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver",
+                    "spring.datasource.username=" + System.getProperty("loadtest.db.username", "sa"),
+                    "spring.datasource.password=" + System.getProperty("loadtest.db.password", ""),
+                    "spring.jpa.hibernate.ddl-auto=update");
+        }
+        return app.run();
+    }
+
+    private String seed(ConfigurableApplicationContext ctx) {
+        UserRepository users = ctx.getBean(UserRepository.class);
+        if (users.findByEmail(EMAIL).isEmpty()) {
+            RoleRepository roles = ctx.getBean(RoleRepository.class);
+            RoleEntity patient = RoleFixtures.role(roles, "PATIENT");
+            UserEntity user = new UserEntity();
+            user.setDni("11223344");
+            user.setEmail(EMAIL);
+            user.setPassword("{noop}unused");
+            user.getRoles().add(patient);
+            users.save(user);
+        }
+        ctx.getBean(RoleAuthorityIndex.class).reload();
+        AuthUserDetails details = ctx.getBean(CustomUserDetailsService.class).loadUserByUsername(EMAIL);
+        return ctx.getBean(JwtService.class).generateAccessToken(details, UUID.randomUUID());
+    }
+
+    // Closed loop: each client sends its next request as soon as the previous one completes.
+    private Result drive(String mode, URI uri, String token, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Samples> perClient = new ArrayList<>(CLIENTS);
+
+        long start = System.nanoTime();
+        try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                Samples samples = new Samples();
+                perClient.add(samples);
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        samples.add(System.nanoTime() - t0);
+                    }
+                    return null;
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] all = new long[perClient.stream().mapToInt(c -> c.size).sum()];
+        int offset = 0;
+        for (Samples c : perClient) {
+            System.arraycopy(c.nanos, 0, all, offset, c.size);
+            offset += c.size;
+        }
+        Arrays.sort(all);
+        return new Result(mode, all.length, errors.get(), seconds, all);
+    }
+}
@@ -0,0 +1,121 @@
+package com.upc.tukuntech.backend.modules.auth.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upc.tukuntech.backend.modules.auth.dto.LoginRequest;
+import com.upc.tukuntech.backend.modules.auth.entity.RoleEntity;
+import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
+import com.upc.tukuntech.backend.modules.auth.repository.RoleFixtures;
+import com.upc.tukuntech.backend.modules.auth.repository.RoleRepository;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
+import com.upc.tukuntech.backend.modules.auth.service.AuthApplicationService;
+import com.upc.tukuntech.backend.modules.auth.service.CustomUserDetailsService;
+import com.upc.tukuntech.backend.modules.auth.service.RoleAuthorityIndex;
+import com.upc.tukuntech.backend.shared.persistence.SqlStats;
+import com.upc.tukuntech.backend.shared.persistence.SqlTracking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+// The synchronous session write, where every login statement runs on the request thread; see
+// AuthSqlBudgetWriteBehindTest for the default write-behind configuration.
+class AuthSqlBudgetTest {
+    private static final String EMAIL = "budget@tukuntech.com";
+    private static final String PASSWORD = "Budget123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RoleAuthorityIndex roleAuthorityIndex;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private AuthApplicationService authService;
+
+    @BeforeEach
+    void setUp() {
+        if (userRepository.findByEmail(EMAIL).isPresent()) return;
+        RoleEntity patient = RoleFixtures.role(roleRepository, "PATIENT");
+        UserEntity user = new UserEntity();
+        user.setDni("87654321");
+        user.setEmail(EMAIL);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.getRoles().add(patient);
+        userRepository.save(user);
+        // Seeding roles marks the index stale; reload now so the reload isn't counted against login.
+        roleAuthorityIndex.reload();
+    }
+
+    @Test
+    void loginStaysWithinStatementBudget() throws Exception {
+        // Measure the cold path; a user cached by an earlier test would hide the graph load.
+        userDetailsService.evictAll();
+        SqlStats stats = SqlTracking.track(this::login);
+
+        // User graph, user row lock, active-session lookup, cap revoke and the session insert.
+        assertThat(stats.getStatements()).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void serviceLoginIssuesExactlyTheBudgetedStatements() throws Exception {
+        LoginRequest request = new LoginRequest(EMAIL, PASSWORD);
+        userDetailsService.evictAll();
+
+        SqlStats cold = SqlTracking.track(() -> authService.login(request, "127.0.0.1", "budget-test"));
+        // User graph, user row lock, active-session lookup, cap revoke and the session insert.
+        assertThat(cold.getStatements()).isEqualTo(5);
+
+        SqlStats warm = SqlTracking.track(() -> authService.login(request, "127.0.0.1", "budget-test"));
+        // A cached user skips only the graph load; the session insert and revokes run on every login.
+        assertThat(warm.getStatements()).isEqualTo(4);
+    }
+
+    @Test
+    void authenticatedCallWithStatelessTokenIssuesNoSql() throws Exception {
+        String accessToken = login();
+
+        SqlStats stats = SqlTracking.track(() -> mockMvc.perform(get("/test/me")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk()));
+
+        assertThat(stats.getStatements()).isZero();
+        assertThat(stats.getEntityLoads()).isZero();
+    }
+
+    private String login() throws Exception {
+        String body = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest(EMAIL, PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("accessToken").asText();
+    }
+}
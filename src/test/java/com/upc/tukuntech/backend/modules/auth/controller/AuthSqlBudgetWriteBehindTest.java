@@ -0,0 +1,75 @@
+package com.upc.tukuntech.backend.modules.auth.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upc.tukuntech.backend.modules.auth.dto.LoginRequest;
+import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
+import com.upc.tukuntech.backend.modules.auth.service.CustomUserDetailsService;
+import com.upc.tukuntech.backend.shared.persistence.SqlStats;
+import com.upc.tukuntech.backend.shared.persistence.SqlTracking;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.security.session-writes.write-behind=true")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class AuthSqlBudgetWriteBehindTest {
+    private static final String EMAIL = "behind@tukuntech.com";
+    private static final String PASSWORD = "Behind123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void sessionStatementsMoveFromTheRequestToTheFlusher() throws Exception {
+        UserEntity user = new UserEntity();
+        user.setDni("87654322");
+        user.setEmail(EMAIL);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        userRepository.save(user);
+        userDetailsService.evictAll();
+        DistributionSummary flushed = meterRegistry.get("db.session_writes.statements").summary();
+        long batches = flushed.count();
+        double statements = flushed.totalAmount();
+
+        SqlStats request = SqlTracking.track(() -> mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest(EMAIL, PASSWORD))))
+                .andExpect(status().isOk()));
+
+        // Only the user load is left on the request thread.
+        assertThat(request.getStatements()).isEqualTo(1);
+        // The login returns once its row is committed; the batch is recorded just after.
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (flushed.count() == batches && System.nanoTime() < deadline) Thread.onSpinWait();
+        // User row lock, active-session lookup, cap revoke and the session insert.
+        assertThat(flushed.totalAmount() - statements).isEqualTo(4);
+    }
+}
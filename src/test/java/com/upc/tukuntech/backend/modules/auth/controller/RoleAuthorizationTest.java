@@ -0,0 +1,135 @@
+package com.upc.tukuntech.backend.modules.auth.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upc.tukuntech.backend.modules.auth.dto.LoginRequest;
+import com.upc.tukuntech.backend.modules.auth.entity.RoleEntity;
+import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
+import com.upc.tukuntech.backend.modules.auth.repository.RoleFixtures;
+import com.upc.tukuntech.backend.modules.auth.repository.RoleRepository;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
+import com.upc.tukuntech.backend.modules.auth.service.AuthUserDetails;
+import com.upc.tukuntech.backend.modules.auth.service.RoleAuthorityIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class RoleAuthorizationTest {
+    private static final String PASSWORD = "Roles1234";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RoleAuthorityIndex roleAuthorityIndex;
+
+    @Autowired
+    private AdminUserController adminUserController;
+
+    @BeforeEach
+    void setUp() {
+        user("patient@tukuntech.com", "10000001", "PATIENT");
+        user("admin@tukuntech.com", "10000002", "ADMINISTRATOR");
+        roleAuthorityIndex.reload();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void methodLevelRequireRoleDeniesOtherRoles() throws Exception {
+        mockMvc.perform(get("/test/admin/ping").header("Authorization", bearer("patient@tukuntech.com")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/test/admin/ping").header("Authorization", bearer("admin@tukuntech.com")))
+                .andExpect(status().isOk())
+                .andExpect(content().string("pong admin"));
+    }
+
+    @Test
+    void adminUrlRuleDeniesOtherRoles() throws Exception {
+        mockMvc.perform(get("/admin/users").header("Authorization", bearer("patient@tukuntech.com")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/admin/users"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/admin/users").header("Authorization", bearer("admin@tukuntech.com")))
+                .andExpect(status().isOk());
+    }
+
+    // Called on the bean directly, so only the class-level @RequireRole stands between caller and method.
+    @Test
+    void classLevelRequireRoleGuardsAdminUserController() throws Exception {
+        authenticateAs("patient@tukuntech.com", "PATIENT");
+        assertThatThrownBy(() -> adminUserController.listUsers(null, null, 0, 10, new MockHttpServletResponse()))
+                .isInstanceOf(AccessDeniedException.class);
+
+        authenticateAs("admin@tukuntech.com", "ADMINISTRATOR");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        adminUserController.listUsers(null, null, 0, 10, response);
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    private void user(String email, String dni, String role) {
+        if (userRepository.findByEmail(email).isPresent()) return;
+        RoleEntity r = RoleFixtures.role(roleRepository, role);
+        UserEntity user = new UserEntity();
+        user.setDni(dni);
+        user.setEmail(email);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.getRoles().add(r);
+        userRepository.save(user);
+    }
+
+    private String bearer(String email) throws Exception {
+        String body = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest(email, PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + objectMapper.readTree(body).get("accessToken").asText();
+    }
+
+    private void authenticateAs(String email, String role) {
+        UserEntity entity = userRepository.findByEmail(email).orElseThrow();
+        int roleId = roleRepository.findByName(role).orElseThrow().getId();
+        AuthUserDetails user = AuthUserDetails.of(entity.getId(), email, null, true, entity.getAuthVersion(),
+                List.of(roleId), roleAuthorityIndex);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
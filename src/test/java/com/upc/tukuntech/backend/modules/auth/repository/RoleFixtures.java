@@ -0,0 +1,21 @@
+package com.upc.tukuntech.backend.modules.auth.repository;
+
+import com.upc.tukuntech.backend.modules.auth.entity.RoleEntity;
+
+// Test helper: roles are created on first use and reused by later tests sharing the database.
+public final class RoleFixtures {
+
+    private RoleFixtures() {}
+
+    public static RoleEntity role(RoleRepository roles, String name) {
+        return roles.findByName(name).orElseGet(() -> {
+            RoleEntity r = new RoleEntity();
+            r.setName(name);
+            return roles.save(r);
+        });
+    }
+
+    public static void roles(RoleRepository roles, String... names) {
+        for (String name : names) role(roles, name);
+    }
+}
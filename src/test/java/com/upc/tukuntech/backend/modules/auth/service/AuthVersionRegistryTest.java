@@ -0,0 +1,51 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.config.UserCacheProperties;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthVersionRegistryTest {
+    private final UserRepository repository = mock(UserRepository.class);
+    private final UserCacheProperties props = new UserCacheProperties();
+
+    @Test
+    void unseenUserIsCheckedAgainstTheStoredVersionOnce() {
+        when(repository.findAuthVersionByEmail("ana@tukuntech.com")).thenReturn(Optional.of(3L));
+        AuthVersionRegistry registry = new AuthVersionRegistry(repository, props);
+
+        // Version 2 was superseded on another node (e.g. the user was disabled) before this one saw the user.
+        assertThat(registry.isCurrent("ana@tukuntech.com", 2L)).isFalse();
+        assertThat(registry.isCurrent("ana@tukuntech.com", 3L)).isTrue();
+        verify(repository, times(1)).findAuthVersionByEmail("ana@tukuntech.com");
+    }
+
+    @Test
+    void expiredVersionIsReadAgain() {
+        props.setAuthVersionTtl(Duration.ZERO);
+        when(repository.findAuthVersionByEmail("ana@tukuntech.com")).thenReturn(Optional.of(3L), Optional.of(4L));
+        AuthVersionRegistry registry = new AuthVersionRegistry(repository, props);
+
+        assertThat(registry.isCurrent("ana@tukuntech.com", 3L)).isTrue();
+        // Another node disabled the user after this one cached version 3.
+        assertThat(registry.isCurrent("ana@tukuntech.com", 3L)).isFalse();
+    }
+
+    @Test
+    void deletedUserIsNeverCurrentButTheEmailIsNotBlockedForGood() {
+        when(repository.findAuthVersionByEmail("gone@tukuntech.com")).thenReturn(Optional.empty(), Optional.of(0L));
+        AuthVersionRegistry registry = new AuthVersionRegistry(repository, props);
+
+        assertThat(registry.isCurrent("gone@tukuntech.com", 0L)).isFalse();
+        // Registered again under the same email.
+        assertThat(registry.isCurrent("gone@tukuntech.com", 0L)).isTrue();
+    }
+}
@@ -0,0 +1,173 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.config.UserCacheProperties;
+import com.upc.tukuntech.backend.modules.auth.entity.PermissionEntity;
+import com.upc.tukuntech.backend.modules.auth.entity.RoleEntity;
+import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository.UserAuthRow;
+import com.upc.tukuntech.backend.modules.auth.util.AuthorityBits;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({
+        CustomUserDetailsService.class,
+        RoleAuthorityIndex.class,
+        UserCacheProperties.class,
+        AuthVersionRegistry.class,
+        UserAuthChangeListener.class,
+        RoleAuthChangeListener.class,
+        CustomUserDetailsServiceTest.Metrics.class
+})
+class CustomUserDetailsServiceTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private RoleAuthorityIndex roleAuthorityIndex;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        PermissionEntity read = new PermissionEntity();
+        read.setName("PATIENT_READ");
+        PermissionEntity write = new PermissionEntity();
+        write.setName("PATIENT_WRITE");
+        entityManager.persist(read);
+        entityManager.persist(write);
+
+        RoleEntity admin = new RoleEntity();
+        admin.setName("ADMINISTRATOR");
+        admin.getPermissions().add(read);
+        admin.getPermissions().add(write);
+        RoleEntity attendant = new RoleEntity();
+        attendant.setName("ATTENDANT");
+        attendant.getPermissions().add(read);
+        entityManager.persist(admin);
+        entityManager.persist(attendant);
+
+        UserEntity user = new UserEntity();
+        user.setDni("12345678");
+        user.setEmail("admin@tukuntech.com");
+        user.setPassword("{noop}secret");
+        user.getRoles().add(admin);
+        user.getRoles().add(attendant);
+        entityManager.persist(user);
+        entityManager.flush();
+        entityManager.clear();
+
+        roleAuthorityIndex.reload();
+        userDetailsService.evictAll();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void loginLoadsUserAndRoleIdsWithSingleStatement() {
+        AuthUserDetails user = userDetailsService.loadUserByUsername("admin@tukuntech.com");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(user.getRoles()).containsExactlyInAnyOrder("ADMINISTRATOR", "ATTENDANT");
+        assertThat(user.getAuthorityNames()).containsExactlyInAnyOrder(
+                "ROLE_ADMINISTRATOR", "ROLE_ATTENDANT", "PERM_PATIENT_READ", "PERM_PATIENT_WRITE");
+    }
+
+    @Test
+    void repeatedLoadsAreServedFromCache() {
+        userDetailsService.loadUserByUsername("admin@tukuntech.com");
+        userDetailsService.loadUserByUsername("admin@tukuntech.com");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void roleChangesSwapInNewIndexVersion() {
+        long before = roleAuthorityIndex.version();
+        RoleEntity attendant = entityManager.createQuery("select r from RoleEntity r where r.name = 'ATTENDANT'", RoleEntity.class)
+                .getSingleResult();
+        PermissionEntity alerts = new PermissionEntity();
+        alerts.setName("ALERTS_READ");
+        entityManager.persist(alerts);
+        attendant.getPermissions().add(alerts);
+        entityManager.flush();
+
+        AuthUserDetails user = userDetailsService.loadUserByUsername("admin@tukuntech.com");
+
+        assertThat(roleAuthorityIndex.version()).isGreaterThan(before);
+        assertThat(user.getAuthorityNames()).contains("PERM_ALERTS_READ");
+    }
+
+    @Test
+    void evictionDuringLoadIsNotOverwrittenByTheLoadedUser() throws Exception {
+        UserRepository repository = mock(UserRepository.class);
+        RoleAuthorityIndex index = mock(RoleAuthorityIndex.class);
+        when(index.resolve(any())).thenReturn(new RoleAuthorityIndex.Resolved(Set.of(), List.of(), AuthorityBits.EMPTY));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        when(repository.findAuthRowsByEmail("late@tukuntech.com"))
+                .thenAnswer(inv -> {
+                    loading.countDown();
+                    evicted.await(5, TimeUnit.SECONDS);
+                    return List.of(authRow(true));
+                })
+                .thenReturn(List.of(authRow(false)));
+        CustomUserDetailsService service = new CustomUserDetailsService(repository, index,
+                new AuthVersionRegistry(repository, new UserCacheProperties()), new UserCacheProperties(), new SimpleMeterRegistry());
+
+        CompletableFuture<AuthUserDetails> inFlight =
+                CompletableFuture.supplyAsync(() -> service.loadUserByUsername("late@tukuntech.com"));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        // The user is disabled while the old row is still being read.
+        service.evict("late@tukuntech.com");
+        evicted.countDown();
+        assertThat(inFlight.get(5, TimeUnit.SECONDS).isEnabled()).isTrue();
+
+        assertThat(service.loadUserByUsername("late@tukuntech.com").isEnabled()).isFalse();
+    }
+
+    private static UserAuthRow authRow(boolean enabled) {
+        return new UserAuthRow() {
+            public Long getId() { return 7L; }
+            public String getEmail() { return "late@tukuntech.com"; }
+            public String getPassword() { return "{noop}secret"; }
+            public Boolean getEnabled() { return enabled; }
+            public Long getAuthVersion() { return 0L; }
+            public Integer getRoleId() { return null; }
+        };
+    }
+}
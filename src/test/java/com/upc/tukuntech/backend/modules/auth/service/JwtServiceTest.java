@@ -0,0 +1,68 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.config.JwtProperties;
+import com.upc.tukuntech.backend.modules.auth.util.AuthorityBits;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceTest {
+    private static final String SECRET = "dGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtMDEyMzQ1";
+
+    private final AuthUserDetails user = new AuthUserDetails(
+            7L, "josé.\"quoted\"@tukuntech.com", null, true, 3L,
+            Set.of(1, 4), Set.of("PATIENT", "ATTENDANT"), List.of(), AuthorityBits.ofRoles(List.of(1, 4)));
+
+    @Test
+    void templateTokensParseWithJjwt() {
+        JwtService jwtService = new JwtService(properties(JwtProperties.TokenFormat.JWT));
+        UUID sessionId = UUID.randomUUID();
+
+        String token = jwtService.generateAccessToken(user, sessionId);
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .requireIssuer("tukuntech-api")
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+
+        assertThat(claims.getSubject()).isEqualTo(user.getUsername());
+        assertThat(claims.get("email", String.class)).isEqualTo(user.getUsername());
+        assertThat(claims.get("uid", Long.class)).isEqualTo(7L);
+        assertThat(claims.get("roles", List.class)).containsExactly("ATTENDANT", "PATIENT");
+        assertThat(claims.get(JwtService.SESSION_ID_CLAIM, String.class)).isEqualTo(sessionId.toString());
+        assertThat(claims.getExpiration()).isAfter(claims.getIssuedAt());
+    }
+
+    @Test
+    void bothFormatsVerifyToTheSameClaims() {
+        UUID sessionId = UUID.randomUUID();
+        for (JwtProperties.TokenFormat format : JwtProperties.TokenFormat.values()) {
+            JwtService jwtService = new JwtService(properties(format));
+
+            VerifiedToken verified = jwtService.verify(jwtService.generateAccessToken(user, sessionId));
+
+            assertThat(verified.subject()).isEqualTo(user.getUsername());
+            assertThat(verified.userId()).isEqualTo(7L);
+            assertThat(verified.sessionId()).isEqualTo(sessionId);
+            assertThat(verified.roleIds()).containsExactly(1, 4);
+            assertThat(verified.authVersion()).isEqualTo(3L);
+        }
+    }
+
+    private static JwtProperties properties(JwtProperties.TokenFormat format) {
+        JwtProperties props = new JwtProperties();
+        props.setSecret(SECRET);
+        props.setIssuer("tukuntech-api");
+        props.setTokenFormat(format);
+        return props;
+    }
+}
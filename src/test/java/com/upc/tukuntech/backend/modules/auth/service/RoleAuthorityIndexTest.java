@@ -0,0 +1,74 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.modules.auth.entity.PermissionEntity;
+import com.upc.tukuntech.backend.modules.auth.entity.RoleEntity;
+import com.upc.tukuntech.backend.modules.auth.repository.RoleRepository;
+import com.upc.tukuntech.backend.modules.auth.util.AuthorityBits;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RoleAuthorityIndexTest {
+    private final RoleRepository repository = mock(RoleRepository.class);
+    private final RoleAuthorityIndex index = new RoleAuthorityIndex(
+            repository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+
+    @Test
+    void idsWithinRangeGetBits() {
+        when(repository.findAllWithPermissions()).thenReturn(List.of(role(AuthorityBits.MAX_ID, permission(1L))));
+
+        index.reload();
+
+        assertThat(index.bitOf("ROLE_ADMINISTRATOR")).isEqualTo(AuthorityBits.roleBit(AuthorityBits.MAX_ID));
+        assertThat(index.bitOf("PERM_USERS_READ")).isEqualTo(AuthorityBits.permissionBit(1L));
+    }
+
+    @Test
+    void outOfRangeIdsAreWithheldWithoutFailingTheLoad() {
+        RoleEntity outOfRange = role(AuthorityBits.MAX_ID + 1);
+        outOfRange.setName("AUDITOR");
+        when(repository.findAllWithPermissions()).thenReturn(List.of(role(1, permission(100_000L)), outOfRange));
+
+        index.reload();
+
+        RoleAuthorityIndex.Resolved admin = index.resolve(List.of(1));
+        assertThat(admin.roleNames()).containsExactly("ADMINISTRATOR");
+        assertThat(admin.authorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMINISTRATOR");
+        assertThat(index.bitOf("PERM_USERS_READ")).isEqualTo(-1);
+        assertThat(index.roleId("AUDITOR")).isNull();
+    }
+
+    @Test
+    void rolesAndPermissionsCreatedBeyondTheBitRangeAreRejected() {
+        RoleAuthChangeListener listener = new RoleAuthChangeListener(index, mock(CustomUserDetailsService.class));
+
+        assertThatThrownBy(() -> listener.onCreate(permission(AuthorityBits.MAX_ID + 1L)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("PermissionEntity id " + (AuthorityBits.MAX_ID + 1));
+        assertThatThrownBy(() -> listener.onCreate(role(0)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static RoleEntity role(int id, PermissionEntity... permissions) {
+        RoleEntity role = new RoleEntity();
+        role.setId(id);
+        role.setName("ADMINISTRATOR");
+        role.getPermissions().addAll(List.of(permissions));
+        return role;
+    }
+
+    private static PermissionEntity permission(long id) {
+        PermissionEntity permission = new PermissionEntity();
+        permission.setId(id);
+        permission.setName("USERS_READ");
+        return permission;
+    }
+}
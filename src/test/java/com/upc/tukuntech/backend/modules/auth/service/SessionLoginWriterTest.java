@@ -0,0 +1,140 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.config.JwtProperties;
+import com.upc.tukuntech.backend.config.SessionWritesProperties;
+import com.upc.tukuntech.backend.modules.auth.entity.SessionEntity;
+import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
+import com.upc.tukuntech.backend.modules.auth.repository.SessionRepository;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SessionLoginWriterTest {
+    private final SessionRepository sessionRepository = mock(SessionRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TransactionTemplate tx = mock(TransactionTemplate.class);
+    private final SessionWritesProperties props = new SessionWritesProperties();
+    // isNew() of every row handed to a successful saveAll.
+    private final List<Boolean> committedAsNew = new ArrayList<>();
+    private SessionLoginWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(tx).executeWithoutResult(any());
+        when(userRepository.getReferenceById(anyLong())).thenAnswer(inv -> user());
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Test
+    void errorInTheFlusherFallsBackToTheCallerAndKeepsTheFlusherAlive() {
+        when(sessionRepository.saveAll(anyList()))
+                .thenAnswer(inv -> fail(inv.getArgument(0), new StackOverflowError("driver")))
+                .thenAnswer(inv -> commit(inv.getArgument(0)));
+        start();
+
+        writer.write(session());
+        writer.write(session());
+
+        assertThat(committedAsNew).containsExactly(true, true);
+        assertThat(writer.isRunning()).isTrue();
+    }
+
+    @Test
+    void rowRetriedAfterFailedBatchIsInsertedNotMerged() {
+        when(sessionRepository.saveAll(anyList()))
+                .thenAnswer(inv -> fail(inv.getArgument(0), new IllegalStateException("batch")))
+                .thenAnswer(inv -> commit(inv.getArgument(0)));
+        start();
+
+        writer.write(session());
+
+        assertThat(committedAsNew).containsExactly(true);
+    }
+
+    @Test
+    void stalledFlusherDoesNotParkLoginsForever() throws Exception {
+        props.setFlushTimeout(Duration.ofMillis(200));
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(sessionRepository.saveAll(anyList()))
+                .thenAnswer(inv -> {
+                    flushing.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return commit(inv.getArgument(0));
+                })
+                .thenAnswer(inv -> commit(inv.getArgument(0)));
+        start();
+
+        CompletableFuture<Void> held = CompletableFuture.runAsync(() -> writer.write(session()));
+        assertThat(flushing.await(5, TimeUnit.SECONDS)).isTrue();
+        // Queued behind the stuck batch: never taken, so the caller commits it.
+        writer.write(session());
+        assertThat(committedAsNew).containsExactly(true);
+
+        // Held by the flusher and maybe about to land: the caller gives up instead of writing it twice.
+        assertThatThrownBy(() -> held.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        release.countDown();
+    }
+
+    private void start() {
+        writer = new SessionLoginWriter(sessionRepository, userRepository, tx, new JwtProperties(), props,
+                new SimpleMeterRegistry());
+        writer.start();
+    }
+
+    private List<SessionEntity> commit(List<SessionEntity> sessions) {
+        sessions.forEach(s -> committedAsNew.add(s.isNew()));
+        return sessions;
+    }
+
+    private static Object fail(List<SessionEntity> sessions, Throwable failure) throws Throwable {
+        // persist() has already run @PostPersist when the flush fails.
+        sessions.forEach(s -> ReflectionTestUtils.invokeMethod(s, "markPersisted"));
+        throw failure;
+    }
+
+    private static UserEntity user() {
+        UserEntity user = new UserEntity();
+        user.setId(7L);
+        return user;
+    }
+
+    private static SessionEntity session() {
+        SessionEntity s = new SessionEntity();
+        s.setUser(user());
+        s.setRefreshTokenHash("hash");
+        return s;
+    }
+}
@@ -0,0 +1,57 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.modules.auth.dto.LoginRequest;
+import com.upc.tukuntech.backend.modules.auth.dto.LoginResponse;
+import com.upc.tukuntech.backend.modules.auth.dto.RefreshRequest;
+import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SessionServiceTest {
+
+    @Autowired
+    private AuthApplicationService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void disabledUserKeepsItsRefreshTokenUnconsumed() {
+        UserEntity user = new UserEntity();
+        user.setDni("70000001");
+        user.setEmail("rotate@tukuntech.com");
+        user.setPassword(passwordEncoder.encode("Rotate123"));
+        userRepository.save(user);
+        LoginResponse login = authService.login(new LoginRequest("rotate@tukuntech.com", "Rotate123"), "127.0.0.1", "test");
+
+        setEnabled(false);
+        assertThatThrownBy(() -> authService.refresh(new RefreshRequest(login.refreshToken()), "127.0.0.1", "test"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN));
+
+        // Had the rejected refresh rotated the hash, this token would now be treated as reused.
+        setEnabled(true);
+        LoginResponse refreshed = authService.refresh(new RefreshRequest(login.refreshToken()), "127.0.0.1", "test");
+        assertThat(refreshed.refreshToken()).isNotEqualTo(login.refreshToken());
+    }
+
+    private void setEnabled(boolean enabled) {
+        UserEntity user = userRepository.findByEmail("rotate@tukuntech.com").orElseThrow();
+        user.setEnabled(enabled);
+        userRepository.save(user);
+    }
+}
@@ -0,0 +1,80 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserAuthChangeListenerTest {
+    private static final String EMAIL = "flush@tukuntech.com";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private AuthVersionRegistry authVersionRegistry;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @Test
+    void loadBetweenFlushAndCommitDoesNotOutliveTheCommit() {
+        user(EMAIL, "61000001");
+        assertThat(userDetailsService.loadUserByUsername(EMAIL).isEnabled()).isTrue();
+
+        tx.executeWithoutResult(status -> {
+            userRepository.findByEmail(EMAIL).orElseThrow().setEnabled(false);
+            userRepository.flush();
+            // Another request reads the still committed row and caches it after the flush-time eviction.
+            AuthUserDetails concurrent = CompletableFuture
+                    .supplyAsync(() -> userDetailsService.loadUserByUsername(EMAIL)).join();
+            assertThat(concurrent.isEnabled()).isTrue();
+        });
+
+        assertThat(userDetailsService.loadUserByUsername(EMAIL).isEnabled()).isFalse();
+    }
+
+    @Test
+    void rolledBackChangeDoesNotAdvanceTheAuthVersion() {
+        long version = user("rollback@tukuntech.com", "61000002").getAuthVersion();
+
+        tx.executeWithoutResult(status -> {
+            userRepository.findByEmail("rollback@tukuntech.com").orElseThrow().setEnabled(false);
+            userRepository.flush();
+            status.setRollbackOnly();
+        });
+
+        assertThat(authVersionRegistry.isCurrent("rollback@tukuntech.com", version)).isTrue();
+    }
+
+    @Test
+    void committedChangeSupersedesOlderTokens() {
+        long version = user("commit@tukuntech.com", "61000003").getAuthVersion();
+        assertThat(authVersionRegistry.isCurrent("commit@tukuntech.com", version)).isTrue();
+
+        tx.executeWithoutResult(status ->
+                userRepository.findByEmail("commit@tukuntech.com").orElseThrow().setEnabled(false));
+
+        assertThat(authVersionRegistry.isCurrent("commit@tukuntech.com", version)).isFalse();
+    }
+
+    private UserEntity user(String email, String dni) {
+        UserEntity user = new UserEntity();
+        user.setDni(dni);
+        user.setEmail(email);
+        user.setPassword("{noop}secret");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,126 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.upc.tukuntech.backend.modules.auth.dto.AdminSessionSummary;
+import com.upc.tukuntech.backend.modules.auth.dto.AdminUserSummary;
+import com.upc.tukuntech.backend.modules.auth.entity.SessionEntity;
+import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
+import com.upc.tukuntech.backend.modules.auth.repository.RoleFixtures;
+import com.upc.tukuntech.backend.modules.auth.repository.RoleRepository;
+import com.upc.tukuntech.backend.modules.auth.repository.SessionRepository;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserDirectoryServiceTest {
+
+    @Autowired
+    private UserDirectoryService directory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @BeforeEach
+    void setUp() {
+        RoleFixtures.roles(roleRepository, "PATIENT", "ATTENDANT");
+    }
+
+    @Test
+    void usersArePagedByIdWithinRoleAndEnabledFilters() {
+        List<Long> attendants = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            UserEntity u = user("dir" + i, i % 2 == 0 ? "ATTENDANT" : "PATIENT", i != 4);
+            if (i % 2 == 0) attendants.add(u.getId());
+        }
+        long before = attendants.get(0) - 1;
+
+        List<AdminUserSummary> first = new ArrayList<>();
+        Long next = directory.listUsers("attendant", null, before, 2, first::addAll);
+        assertThat(first).extracting(AdminUserSummary::id).containsExactly(attendants.get(0), attendants.get(1));
+        assertThat(first.get(0).roles()).containsExactly("ATTENDANT");
+        assertThat(first.get(0).email()).isEqualTo("dir0@tukuntech.com");
+        assertThat(next).isEqualTo(attendants.get(1));
+
+        List<AdminUserSummary> second = new ArrayList<>();
+        assertThat(directory.listUsers("ATTENDANT", null, next, 2, second::addAll)).isNull();
+        assertThat(second).extracting(AdminUserSummary::id).containsExactly(attendants.get(2));
+        assertThat(second.get(0).enabled()).isFalse();
+
+        // A full page with nothing after it still reports the end.
+        List<AdminUserSummary> enabled = new ArrayList<>();
+        assertThat(directory.listUsers("ATTENDANT", true, before, 2, enabled::addAll)).isNull();
+        assertThat(enabled).extracting(AdminUserSummary::id).containsExactly(attendants.get(0), attendants.get(1));
+
+        assertThatThrownBy(() -> directory.listUsers("NURSE", null, 0, 10, rows -> {}))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void sessionsAreListedNewestFirstAcrossCursorPages() {
+        UserEntity owner = user("owner", null, true);
+        Instant t = Instant.parse("2026-01-01T00:00:00Z");
+        UUID oldest = session(owner, t, true);
+        UUID tiedOlder = session(owner, t.plusSeconds(60), false);
+        UUID tiedNewer = session(owner, t.plusSeconds(60), true);
+        UUID newest = session(owner, t.plusSeconds(120), true);
+
+        List<AdminSessionSummary> first = new ArrayList<>();
+        String cursor = directory.listSessions(owner.getId(), null, null, 2, first::addAll);
+        assertThat(first).extracting(AdminSessionSummary::id).containsExactly(newest, tiedNewer);
+        assertThat(cursor).isNotNull();
+
+        List<AdminSessionSummary> second = new ArrayList<>();
+        assertThat(directory.listSessions(owner.getId(), null, cursor, 2, second::addAll)).isNull();
+        assertThat(second).extracting(AdminSessionSummary::id).containsExactly(tiedOlder, oldest);
+
+        List<AdminSessionSummary> revoked = new ArrayList<>();
+        directory.listSessions(owner.getId(), false, null, 10, revoked::addAll);
+        assertThat(revoked).extracting(AdminSessionSummary::id).containsExactly(tiedOlder);
+
+        assertThatThrownBy(() -> directory.listSessions(owner.getId(), null, "not-a-cursor", 2, rows -> {}))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> directory.listSessions(Long.MAX_VALUE, null, null, 2, rows -> {}))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private UserEntity user(String name, String role, boolean enabled) {
+        UserEntity u = new UserEntity();
+        u.setDni(name);
+        u.setEmail(name + "@tukuntech.com");
+        u.setPassword("{noop}unused");
+        u.setEnabled(enabled);
+        if (role != null) u.getRoles().add(roleRepository.findByName(role).orElseThrow());
+        return userRepository.save(u);
+    }
+
+    private UUID session(UserEntity user, Instant createdAt, boolean active) {
+        SessionEntity s = new SessionEntity();
+        s.setUser(user);
+        s.setRefreshTokenHash(UUID.randomUUID().toString().replace("-", ""));
+        s.setAccessExpiresAt(createdAt.plusSeconds(1800));
+        s.setRefreshExpiresAt(createdAt.plusSeconds(86400));
+        s.setCreatedAt(createdAt);
+        s.setActive(active);
+        if (!active) s.setRevokedAt(createdAt.plusSeconds(1));
+        return sessionRepository.save(s).getId();
+    }
+}
@@ -0,0 +1,128 @@
+package com.upc.tukuntech.backend.modules.auth.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upc.tukuntech.backend.modules.auth.dto.UserImportResult;
+import com.upc.tukuntech.backend.modules.auth.dto.UserImportResult.Status;
+import com.upc.tukuntech.backend.modules.auth.entity.UserEntity;
+import com.upc.tukuntech.backend.modules.auth.repository.RoleFixtures;
+import com.upc.tukuntech.backend.modules.auth.repository.RoleRepository;
+import com.upc.tukuntech.backend.modules.auth.repository.UserRepository;
+import com.upc.tukuntech.backend.modules.auth.util.UserImportReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.users.provisioning.batch-size=2")
+@ActiveProfiles("test")
+class UserImportServiceTest {
+
+    @Autowired
+    private UserImportService importService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        RoleFixtures.roles(roleRepository, "PATIENT", "ATTENDANT");
+    }
+
+    @Test
+    void ndjsonRowsAreCreatedOrRejectedPerLine() throws Exception {
+        UserEntity existing = new UserEntity();
+        existing.setDni("50000000");
+        existing.setEmail("taken@tukuntech.com");
+        existing.setPassword("{noop}unused");
+        userRepository.save(existing);
+
+        String body = """
+                {"email":"ana@tukuntech.com","dni":"50000001","password":"Secret123","firstName":"Ana","roles":["attendant"]}
+                {"email":"taken@tukuntech.com","dni":"50000002","password":"Secret123"}
+                {"email":"not-an-email","dni":"50000003","password":"Secret123"}
+
+                {"email":"luis@tukuntech.com","dni":"50000001","password":"Secret123"}
+                {"email":"eva@tukuntech.com","dni":"50000005","password":"Secret123","roles":["NURSE"]}
+                {broken
+                {"email":"rosa@tukuntech.com","dni":"50000007","password":"Secret123"}
+                """;
+
+        List<UserImportResult> results = importNdjson(body);
+
+        assertThat(results).extracting(UserImportResult::line)
+                .containsExactly(1L, 2L, 3L, 5L, 6L, 7L, 8L);
+        assertThat(results).extracting(UserImportResult::status).containsExactly(
+                Status.CREATED, Status.DUPLICATE, Status.INVALID, Status.DUPLICATE, Status.INVALID, Status.INVALID, Status.CREATED);
+
+        UserEntity ana = userRepository.findByEmail("ana@tukuntech.com").orElseThrow();
+        assertThat(ana.getId()).isEqualTo(results.get(0).id());
+        assertThat(ana.getFirstName()).isEqualTo("Ana");
+        assertThat(passwordEncoder.matches("Secret123", ana.getPassword())).isTrue();
+        assertThat(roleNames(ana.getId())).containsExactly("ATTENDANT");
+        assertThat(roleNames(results.get(6).id())).containsExactly("PATIENT");
+    }
+
+    @Test
+    void csvImportSharesIdBlocksWithJpaInserts() throws Exception {
+        String body = """
+                email,dni,password,first_name,last_name,roles
+                "mia@tukuntech.com",60000001,Secret123,Mia,"Díaz, Jr.",PATIENT|ATTENDANT
+                leo@tukuntech.com,60000002,Secret123,,,
+                """;
+
+        List<UserImportResult> results = importCsv(body);
+        assertThat(results).extracting(UserImportResult::status).containsOnly(Status.CREATED);
+        assertThat(userRepository.findByEmail("mia@tukuntech.com").orElseThrow().getLastName()).isEqualTo("Díaz, Jr.");
+        assertThat(roleNames(results.get(0).id())).containsExactlyInAnyOrder("PATIENT", "ATTENDANT");
+
+        // A user saved through JPA afterwards must not collide with the ids the import reserved.
+        UserEntity later = new UserEntity();
+        later.setDni("60000003");
+        later.setEmail("later@tukuntech.com");
+        later.setPassword("{noop}unused");
+        Long laterId = userRepository.save(later).getId();
+        assertThat(laterId).isNotIn(results.get(0).id(), results.get(1).id());
+    }
+
+    private List<UserImportResult> importNdjson(String body) throws Exception {
+        return run(body, UserImportReader.Format.NDJSON);
+    }
+
+    private List<UserImportResult> importCsv(String body) throws Exception {
+        return run(body, UserImportReader.Format.CSV);
+    }
+
+    private List<UserImportResult> run(String body, UserImportReader.Format format) throws Exception {
+        List<UserImportResult> results = new ArrayList<>();
+        UserImportReader reader = new UserImportReader(new BufferedReader(new StringReader(body)), format, objectMapper);
+        importService.importUsers(reader, results::addAll);
+        return results;
+    }
+
+    private List<String> roleNames(long userId) {
+        return jdbc.queryForList("SELECT r.name FROM user_roles ur JOIN roles r ON r.id = ur.role_id WHERE ur.user_id = ?",
+                String.class, userId);
+    }
+}
@@ -0,0 +1,44 @@
+package com.upc.tukuntech.backend.modules.auth.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthorityBitsTest {
+
+    @Test
+    void rolesAndPermissionsUseSeparateBits() {
+        AuthorityBits bits = AuthorityBits.builder()
+                .set(AuthorityBits.roleBit(3))
+                .set(AuthorityBits.permissionBit(3))
+                .build();
+
+        assertThat(bits.has(AuthorityBits.roleBit(3))).isTrue();
+        assertThat(bits.has(AuthorityBits.permissionBit(3))).isTrue();
+        assertThat(bits.has(AuthorityBits.roleBit(1))).isFalse();
+        assertThat(bits.roleIds()).containsExactly(3);
+    }
+
+    @Test
+    void encodingRoundTripsAcrossWords() {
+        AuthorityBits bits = AuthorityBits.ofRoles(List.of(1, 31, 32, 200))
+                .or(AuthorityBits.builder().set(AuthorityBits.permissionBit(90)).build());
+
+        AuthorityBits decoded = AuthorityBits.decode(bits.encode());
+
+        assertThat(decoded).isEqualTo(bits);
+        assertThat(decoded.roleIds()).containsExactly(1, 31, 32, 200);
+        assertThat(AuthorityBits.decode(AuthorityBits.EMPTY.encode())).isEqualTo(AuthorityBits.EMPTY);
+    }
+
+    @Test
+    void intersectsMatchesAnySharedBit() {
+        AuthorityBits user = AuthorityBits.ofRoles(List.of(2, 5));
+
+        assertThat(user.intersects(AuthorityBits.ofRoles(List.of(5, 9)))).isTrue();
+        assertThat(user.intersects(AuthorityBits.ofRoles(List.of(9)))).isFalse();
+        assertThat(user.intersects(AuthorityBits.EMPTY)).isFalse();
+    }
+}
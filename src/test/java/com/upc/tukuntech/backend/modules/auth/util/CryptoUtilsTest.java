@@ -0,0 +1,41 @@
+package com.upc.tukuntech.backend.modules.auth.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CryptoUtilsTest {
+
+    @Test
+    void sha256MatchesMessageDigest() throws Exception {
+        for (String input : new String[]{"", "abc", "contraseña", "x".repeat(10_000), CryptoUtils.randomToken(32)}) {
+            byte[] expected = MessageDigest.getInstance("SHA-256").digest(input.getBytes(StandardCharsets.UTF_8));
+            assertThat(CryptoUtils.sha256(input)).isEqualTo(expected);
+            assertThat(CryptoUtils.sha256Hex(input)).isEqualTo(HexFormat.of().formatHex(expected));
+        }
+    }
+
+    @Test
+    void randomTokenIsUnpaddedBase64UrlOfRequestedLength() {
+        for (int bytes : new int[]{1, 2, 3, 32, 33, 64}) {
+            String token = CryptoUtils.randomToken(bytes);
+            assertThat(token).doesNotContain("=", "+", "/");
+            assertThat(Base64.getUrlDecoder().decode(token)).hasSize(bytes);
+        }
+    }
+
+    @Test
+    void concurrentTokensAreUnique() {
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 20_000).parallel().forEach(i -> seen.add(CryptoUtils.randomToken(32)));
+        assertThat(seen).hasSize(20_000);
+    }
+}
@@ -0,0 +1,43 @@
+package com.upc.tukuntech.backend.shared.persistence;
+
+import com.upc.tukuntech.backend.config.SqlTrackingProperties;
+import com.upc.tukuntech.backend.config.SqlTrackingProperties.EndpointBudget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlBudgetFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void unboundedEndpointIsRecordedButNeverFlagged() throws Exception {
+        SqlTrackingProperties props = new SqlTrackingProperties();
+        EndpointBudget importBudget = new EndpointBudget();
+        importBudget.setMethod("POST");
+        importBudget.setPattern("/admin/users/import");
+        importBudget.setUnbounded(true);
+        props.getEndpoints().add(importBudget);
+        SqlBudgetFilter filter = new SqlBudgetFilter(props, meterRegistry);
+
+        run(filter, "/admin/users/import", 600);
+        run(filter, "/admin/users/other", 600);
+
+        assertThat(meterRegistry.get("db.request.statements").tag("uri", "/admin/users/import").summary().totalAmount())
+                .isEqualTo(600);
+        assertThat(meterRegistry.find("db.request.budget_exceeded").tag("uri", "/admin/users/import").counter()).isNull();
+        assertThat(meterRegistry.get("db.request.budget_exceeded").tag("uri", "/admin/users/other").counter().count())
+                .isEqualTo(1);
+    }
+
+    private static void run(SqlBudgetFilter filter, String pattern, int statements) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            for (int i = 0; i < statements; i++) SqlTracker.current().statementPrepared();
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package com.upc.tukuntech.backend.shared.persistence;
+
+// Test helper: counts the SQL issued on the calling thread while the work runs. MockMvc
+// executes the whole filter chain on that thread, so a request can be wrapped directly.
+public final class SqlTracking {
+
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+
+    private SqlTracking() {}
+
+    public static SqlStats track(Work work) throws Exception {
+        try (SqlTracker.Scope scope = SqlTracker.open()) {
+            work.run();
+            return scope.stats();
+        }
+    }
+}
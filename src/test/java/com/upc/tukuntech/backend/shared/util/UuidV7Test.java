@@ -0,0 +1,53 @@
+package com.upc.tukuntech.backend.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    @Test
+    void idsAreVersion7AndStrictlyIncreasing() {
+        UUID previous = UuidV7.generate();
+        for (int i = 0; i < 50_000; i++) {
+            UUID next = UuidV7.generate();
+            assertThat(next.version()).isEqualTo(7);
+            assertThat(next.variant()).isEqualTo(2);
+            assertThat(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()))
+                    .isPositive();
+            previous = next;
+        }
+    }
+
+    @Test
+    void timestampTracksWallClock() {
+        long before = System.currentTimeMillis();
+        long millis = UuidV7.generate().getMostSignificantBits() >>> 16;
+        assertThat(millis).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    void concurrentGenerationNeverCollides() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = IntStream.range(0, threads)
+                    .<Future<?>>mapToObj(t -> pool.submit(() -> {
+                        for (int i = 0; i < perThread; i++) seen.add(UuidV7.generate());
+                    }))
+                    .toList();
+            for (Future<?> f : futures) f.get();
+        }
+        assertThat(seen).hasSize(threads * perThread);
+    }
+}